@@ -0,0 +1,58 @@
+/**
+ * Counters from a batch admission (returned by Ride.admitVisitors)
+ * Rejected visitors are only counted; no event is published per visitor
+ */
+public class AdmissionResult {
+    // Visitors added to the queue
+    private final int admitted;
+    // Visitors turned away by the admission rules (null entries included)
+    private final int rejected;
+    // Time spent filtering and enqueuing (nanoseconds)
+    private final long elapsedNanos;
+
+    /**
+     * Parameterized constructor
+     * @param admitted Visitors added to the queue
+     * @param rejected Visitors turned away
+     * @param elapsedNanos Filter + enqueue time in nanoseconds
+     */
+    public AdmissionResult(int admitted, int rejected, long elapsedNanos) {
+        this.admitted = admitted;
+        this.rejected = rejected;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Get number of visitors added to the queue
+     * @return admitted (int)
+     */
+    public int getAdmitted() {
+        return admitted;
+    }
+
+    /**
+     * Get number of visitors turned away
+     * @return rejected (int)
+     */
+    public int getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Get filter + enqueue time
+     * @return elapsedNanos (long, nanoseconds)
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Override toString for a one-line summary
+     * @return Summary as String
+     */
+    @Override
+    public String toString() {
+        return "AdmissionResult{admitted=" + admitted + ", rejected=" + rejected
+                + ", elapsedMs=" + (elapsedNanos / 1_000_000) + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Ride admission rules: age range (inclusive) and allowed membership tiers (e.g., height/age-restricted rides,
+ * members-only previews). Immutable; Ride.setAdmissionRules compiles them once into a predicate checked on enqueue
+ */
+public class AdmissionRules {
+    // Youngest and oldest admitted age (inclusive)
+    private final int minAge;
+    private final int maxAge;
+    // Admitted membership tiers (empty = every tier)
+    private final Set<String> allowedTiers;
+
+    /**
+     * Parameterized constructor
+     * @param minAge Youngest admitted age (inclusive)
+     * @param maxAge Oldest admitted age (inclusive; Integer.MAX_VALUE = no upper limit)
+     * @param allowedTiers Admitted membership types (e.g., "VIP"; null or empty = every tier)
+     */
+    public AdmissionRules(int minAge, int maxAge, Collection<String> allowedTiers) {
+        if (minAge > maxAge) {
+            throw new IllegalArgumentException("minAge " + minAge + " is greater than maxAge " + maxAge);
+        }
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+        Set<String> tiers = new LinkedHashSet<>();
+        if (allowedTiers != null) {
+            for (String tier : allowedTiers) {
+                if (tier != null) {
+                    tiers.add(VisitorRegistry.internTier(tier)); // Shared String: equals() hits its identity check
+                }
+            }
+        }
+        this.allowedTiers = Collections.unmodifiableSet(tiers);
+    }
+
+    /**
+     * Parameterized constructor for age-only rules (every tier admitted)
+     * @param minAge Youngest admitted age (inclusive)
+     * @param maxAge Oldest admitted age (inclusive)
+     */
+    public AdmissionRules(int minAge, int maxAge) {
+        this(minAge, maxAge, null);
+    }
+
+    /**
+     * Get youngest admitted age
+     * @return minAge (int, inclusive)
+     */
+    public int getMinAge() {
+        return minAge;
+    }
+
+    /**
+     * Get oldest admitted age
+     * @return maxAge (int, inclusive)
+     */
+    public int getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Get admitted membership tiers
+     * @return Tiers (unmodifiable; empty = every tier)
+     */
+    public Set<String> getAllowedTiers() {
+        return allowedTiers;
+    }
+
+    /**
+     * Compile the rules into a predicate (true = admit); null visitors are not admitted
+     * The age range becomes one unsigned comparison, and the tier check is skipped, a single equals, or a hash lookup
+     * depending on how many tiers are allowed
+     * @return Thread-safe admission predicate
+     */
+    public Predicate<Visitor> compile() {
+        int min = minAge;
+        long span = (long) maxAge - minAge;
+        if (allowedTiers.isEmpty()) {
+            return visitor -> visitor != null && Integer.toUnsignedLong(visitor.getAge() - min) <= span;
+        }
+        if (allowedTiers.size() == 1) {
+            String tier = allowedTiers.iterator().next();
+            return visitor -> visitor != null && Integer.toUnsignedLong(visitor.getAge() - min) <= span
+                    && tier.equals(visitor.getMembershipType());
+        }
+        Set<String> tiers = new HashSet<>(allowedTiers);
+        return visitor -> visitor != null && Integer.toUnsignedLong(visitor.getAge() - min) <= span
+                && tiers.contains(visitor.getMembershipType());
+    }
+
+    /**
+     * Override toString for readable rules
+     * @return Rules as String
+     */
+    @Override
+    public String toString() {
+        return "AdmissionRules{age=" + minAge + ".." + maxAge
+                + ", tiers=" + (allowedTiers.isEmpty() ? "any" : allowedTiers.toString()) + "}";
+    }
+}
\ No newline at end of file
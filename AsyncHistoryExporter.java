@@ -0,0 +1,218 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Background CSV history export (non-blocking counterpart of Ride.exportRideHistory, Assessment Part6)
+ * Text is always UTF-8 (the encoding MappedCsvHistoryReader and HistoryJournal use)
+ * Records are encoded on a dedicated daemon thread into pooled direct buffers and written with
+ * AsynchronousFileChannel; the caller only pays for copying record references into an array
+ * Buffers return to the pool as their writes complete; the encoder waits for a free buffer if the disk lags
+ * (bounded memory: at most POOL_SIZE × BUFFER_SIZE bytes in flight across all exports)
+ */
+public class AsyncHistoryExporter {
+    // CSV header (same as Ride.exportRideHistory)
+    private static final byte[] HEADER = "Type,PersonId,Name,Age,VisitorId,MembershipType\n".getBytes(StandardCharsets.UTF_8);
+    // Direct buffer size and number of pooled buffers
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int POOL_SIZE = 4;
+
+    // Pooled direct buffers (allocated on first use, reused across exports)
+    private static final BlockingQueue<ByteBuffer> POOL = new ArrayBlockingQueue<>(POOL_SIZE);
+    // Buffers allocated so far (guarded by POOL)
+    private static int allocated;
+    // Encoder thread (exports run one after another, in submission order)
+    private static final ExecutorService ENCODER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "history-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private AsyncHistoryExporter() {
+    }
+
+    /**
+     * Export records as CSV in the background
+     * @param records Snapshot of the history (not modified; later history changes do not affect the export)
+     * @param path Destination file (created or truncated)
+     * @return Future completed with the export counters once every byte is written, or with the I/O error
+     */
+    public static CompletableFuture<CsvExportStats> exportCsv(Visitor[] records, Path path) {
+        long startNanos = System.nanoTime();
+        CompletableFuture<CsvExportStats> result = new CompletableFuture<>();
+        ENCODER.execute(() -> {
+            try {
+                encodeAndWrite(records, path, startNanos, result);
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Encode every record and issue the asynchronous writes (runs on the encoder thread)
+     * @param records Records to export
+     * @param path Destination file
+     * @param startNanos Time the export was requested
+     * @param result Future to complete
+     * @throws IOException If the file cannot be opened
+     * @throws InterruptedException If interrupted while waiting for a free buffer
+     */
+    private static void encodeAndWrite(Visitor[] records, Path path, long startNanos,
+                                       CompletableFuture<CsvExportStats> result)
+            throws IOException, InterruptedException {
+        AsynchronousFileChannel channel = AsynchronousFileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        long position = 0;
+        ByteBuffer buffer = null;
+        try {
+            buffer = acquire();
+            buffer.put(HEADER);
+            encode:
+            for (Visitor visitor : records) {
+                byte[] line = (visitor.toCsvString() + "\n").getBytes(StandardCharsets.UTF_8);
+                int offset = 0;
+                while (offset < line.length) {
+                    if (!buffer.hasRemaining()) {
+                        position += submit(channel, buffer, position, writes);
+                        buffer = null;
+                        if (failed(writes)) {
+                            break encode; // The failed write completes the result below
+                        }
+                        buffer = acquire();
+                    }
+                    int chunk = Math.min(buffer.remaining(), line.length - offset);
+                    buffer.put(line, offset, chunk);
+                    offset += chunk;
+                }
+            }
+            if (buffer != null) {
+                position += submit(channel, buffer, position, writes);
+            }
+        } catch (InterruptedException | RuntimeException e) {
+            if (buffer != null) {
+                release(buffer);
+            }
+            closeWhenDone(channel, writes);
+            throw e;
+        }
+        long bytes = position;
+        CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, error) -> {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                error = error == null ? e : error;
+            }
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(new CsvExportStats(records.length, bytes, System.nanoTime() - startNanos));
+            }
+        });
+    }
+
+    /**
+     * Write a filled buffer at a file position (the buffer returns to the pool when the write completes)
+     * @param channel Destination channel
+     * @param buffer Filled buffer (flipped here)
+     * @param position File position
+     * @param writes Pending writes (the new write is added)
+     * @return Bytes submitted
+     */
+    private static int submit(AsynchronousFileChannel channel, ByteBuffer buffer, long position,
+                              List<CompletableFuture<Void>> writes) {
+        buffer.flip();
+        int length = buffer.remaining();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        channel.write(buffer, position, position, new CompletionHandler<Integer, Long>() {
+            @Override
+            public void completed(Integer written, Long at) {
+                if (buffer.hasRemaining()) {
+                    long next = at + written;
+                    channel.write(buffer, next, next, this); // Partial write: continue from where it stopped
+                    return;
+                }
+                release(buffer);
+                done.complete(null);
+            }
+
+            @Override
+            public void failed(Throwable error, Long at) {
+                release(buffer);
+                done.completeExceptionally(error);
+            }
+        });
+        writes.add(done);
+        return length;
+    }
+
+    /**
+     * Check if any write already failed (stops encoding early)
+     * @param writes Writes issued so far
+     * @return true = a write failed
+     */
+    private static boolean failed(List<CompletableFuture<Void>> writes) {
+        for (CompletableFuture<Void> write : writes) {
+            if (write.isCompletedExceptionally()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Close the channel once pending writes finish (error path)
+     * @param channel Destination channel
+     * @param writes Pending writes
+     */
+    private static void closeWhenDone(AsynchronousFileChannel channel, List<CompletableFuture<Void>> writes) {
+        CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, error) -> {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Export already failed; nothing more to report
+            }
+        });
+    }
+
+    /**
+     * Take a buffer from the pool (allocates until POOL_SIZE buffers exist, then waits for a returned one)
+     * @return Cleared direct buffer
+     * @throws InterruptedException If interrupted while waiting
+     */
+    private static ByteBuffer acquire() throws InterruptedException {
+        ByteBuffer buffer = POOL.poll();
+        if (buffer == null) {
+            synchronized (POOL) {
+                if (allocated < POOL_SIZE) {
+                    allocated++;
+                    return ByteBuffer.allocateDirect(BUFFER_SIZE);
+                }
+            }
+            buffer = POOL.take();
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Return a buffer to the pool
+     * @param buffer Buffer whose write completed
+     */
+    private static void release(ByteBuffer buffer) {
+        POOL.offer(buffer);
+    }
+}
\ No newline at end of file
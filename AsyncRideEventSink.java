@@ -0,0 +1,158 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous event sink: ride threads drop events into a lock-free ring buffer,
+ * a background daemon thread drains them into a delegate sink (e.g., ConsoleRideEventSink)
+ * Design purpose: Keep console/file I/O off the hot paths of Ride operations
+ * Multiple producer threads are supported; if the buffer is full the event is dropped and counted (never blocks)
+ * After close() events are rejected (counted as dropped), so nothing is left stranded in the buffer
+ */
+public class AsyncRideEventSink implements RideEventSink, AutoCloseable {
+    // Flag set in tail by close(): no more slots can be claimed
+    private static final long CLOSED = Long.MIN_VALUE;
+    // How long close() waits for a slot that was claimed but not yet published
+    private static final long UNPUBLISHED_WAIT_NANOS = 1_000_000_000L;
+
+    // Ring buffer slots (null = free or not yet published)
+    private final AtomicReferenceArray<RideEvent> slots;
+    // Capacity - 1 (capacity is a power of two)
+    private final int mask;
+    // Next sequence to claim (producers); CLOSED bit set once the sink is closed
+    private final AtomicLong tail = new AtomicLong();
+    // Next sequence to drain (written by the drain thread only)
+    private final AtomicLong head = new AtomicLong();
+    // Events dropped: buffer full, published after close, or never published before close gave up on them
+    private final AtomicLong dropped = new AtomicLong();
+    // Sink receiving events on the drain thread
+    private final RideEventSink delegate;
+    // Background drain thread
+    private final Thread drainThread;
+    // false once close() has been called
+    private volatile boolean running = true;
+
+    /**
+     * Parameterized constructor (starts the drain thread)
+     * @param delegate Sink that receives events on the background thread
+     * @param capacity Ring buffer size (rounded up to a power of two)
+     */
+    public AsyncRideEventSink(RideEventSink delegate, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.delegate = delegate;
+        this.drainThread = new Thread(this::drainLoop, "ride-event-sink");
+        this.drainThread.setDaemon(true);
+        this.drainThread.start();
+    }
+
+    /**
+     * Enabled while the delegate wants events and the sink is open
+     * @return true = accepting events
+     */
+    @Override
+    public boolean isEnabled() {
+        return running && delegate.isEnabled();
+    }
+
+    /**
+     * Claim a slot and publish the event (lock-free; drops the event if the buffer is full or the sink is closed)
+     * @param event Event published by a Ride
+     */
+    @Override
+    public void publish(RideEvent event) {
+        while (true) {
+            long seq = tail.get();
+            if (seq < 0 || seq - head.get() >= slots.length()) { // Closed, or full
+                dropped.incrementAndGet();
+                return;
+            }
+            if (tail.compareAndSet(seq, seq + 1)) {
+                slots.lazySet((int) (seq & mask), event);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Get number of events dropped (buffer full, published after close, or never published before close timed out)
+     * @return Dropped event count (long)
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Drain thread body: deliver published events in sequence order, back off briefly when idle
+     * After close, delivers the remaining claimed events, waiting at most UNPUBLISHED_WAIT_NANOS for a slot whose
+     * producer has not finished publishing (those events are then counted as dropped)
+     */
+    private void drainLoop() {
+        while (running) {
+            if (!drainAvailable()) {
+                LockSupport.parkNanos(100_000L); // Idle: wait 0.1 ms before polling again
+            }
+        }
+        long end = tail.get() & ~CLOSED; // No more claims: this is the last sequence to deliver
+        long deadline = System.nanoTime() + UNPUBLISHED_WAIT_NANOS;
+        while (head.get() < end) {
+            if (!drainAvailable()) {
+                if (System.nanoTime() - deadline > 0) {
+                    dropped.addAndGet(end - head.get());
+                    return;
+                }
+                LockSupport.parkNanos(100_000L);
+            }
+        }
+    }
+
+    /**
+     * Deliver every event that is already published
+     * @return true = at least one event was delivered
+     */
+    private boolean drainAvailable() {
+        boolean delivered = false;
+        long seq = head.get();
+        while (true) {
+            int index = (int) (seq & mask);
+            RideEvent event = slots.get(index);
+            if (event == null) {
+                break; // Empty, or the producer has claimed but not yet published this slot
+            }
+            slots.lazySet(index, null);
+            seq++;
+            head.lazySet(seq);
+            try {
+                delegate.publish(event);
+            } catch (RuntimeException e) {
+                System.err.println("[Error] Event sink failed: " + e.getMessage());
+            }
+            delivered = true;
+        }
+        return delivered;
+    }
+
+    /**
+     * Stop accepting events, deliver everything already queued and stop the drain thread (safe to call twice)
+     */
+    @Override
+    public void close() {
+        long seq;
+        do {
+            seq = tail.get();
+        } while (seq >= 0 && !tail.compareAndSet(seq, seq | CLOSED)); // Freeze the claimed range
+        running = false;
+        try {
+            drainThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,287 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Reader for the compact binary history format written by BinaryHistoryWriter
+ * Rejects unknown magic/versions, corrupted blocks (CRC mismatch) and lengths running past the end of the input
+ * with an IOException, so a damaged file never triggers a huge allocation
+ * Repeated Strings decode to the same String instance, so imported records share names/IDs
+ */
+public class BinaryHistoryReader {
+    // Largest buffer allocated before its bytes have been read
+    private static final int MAX_UNREAD_ALLOCATION = 1024 * 1024;
+
+    // Source stream
+    private final DataInputStream in;
+    // Bytes of the source not consumed yet (Long.MAX_VALUE if the length is unknown)
+    private long remaining;
+    // Code → String (index 0 unused: code 0 means null)
+    private String[] dictionary = new String[256];
+    private int dictionarySize = 1;
+    // Per String column: UTF-8 bytes of the last inline value (base of front-coded values)
+    private final byte[][] previousInline = new byte[4][64];
+    private final int[] previousLength = new int[4];
+
+    /**
+     * Parameterized constructor for a source of unknown length (reads and checks the file header)
+     * Lengths are then only bounded by what the stream actually holds
+     * @param in Source stream (buffered internally)
+     * @throws IOException If the header is missing, has the wrong magic or an unsupported version
+     */
+    public BinaryHistoryReader(InputStream in) throws IOException {
+        this(in, Long.MAX_VALUE);
+    }
+
+    /**
+     * Parameterized constructor (reads and checks the file header)
+     * @param in Source stream (buffered internally)
+     * @param length Bytes the source holds (every length read from it is checked against what is left)
+     * @throws IOException If the header is missing, has the wrong magic or an unsupported version
+     */
+    public BinaryHistoryReader(InputStream in, long length) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in, 64 * 1024));
+        this.remaining = length;
+        require(6);
+        int magic = this.in.readInt();
+        if (magic != BinaryHistoryWriter.MAGIC) {
+            throw new IOException("Not a binary ride history file (bad magic)");
+        }
+        int version = this.in.readUnsignedShort();
+        if (version != BinaryHistoryWriter.VERSION) {
+            throw new IOException("Unsupported binary history version: " + version);
+        }
+    }
+
+    /**
+     * Read every record until the end block
+     * @param sink Receives each Visitor in file order
+     * @return Number of records read
+     * @throws IOException If the stream is truncated or a block is corrupted
+     */
+    public long readAll(Consumer<Visitor> sink) throws IOException {
+        return readFields((personId, name, age, visitorId, membership) ->
+                sink.accept(new Visitor(personId, name, age, visitorId, membership)));
+    }
+
+    /**
+     * Read every record until the end block, handing over its fields without creating a Visitor
+     * @param sink Receives each record's fields in file order
+     * @return Number of records read
+     * @throws IOException If the stream is truncated or a block is corrupted
+     */
+    public long readFields(RecordSink sink) throws IOException {
+        long total = 0;
+        byte[] entries = new byte[4 * 1024];
+        byte[] payload = new byte[64 * 1024];
+        while (true) {
+            int records = readLength();
+            if (records == 0) {
+                return total; // End block
+            }
+            int newEntries = readLength();
+            int entriesLength = readLength();
+            if (newEntries > entriesLength) {
+                throw new IOException("Corrupted binary history block (" + newEntries + " entries in "
+                        + entriesLength + " bytes)");
+            }
+            entries = readBytes(entries, entriesLength);
+            CRC32 crc = new CRC32();
+            crc.update(entries, 0, entriesLength);
+            int[] entryPosition = {0, entriesLength}; // Read position, section end
+            for (int i = 0; i < newEntries; i++) {
+                addEntry(readUtf8(entries, entryPosition, readVarInt(entries, entryPosition)));
+            }
+            int payloadLength = readLength();
+            if ((long) records * 5 > payloadLength) {
+                throw new IOException("Corrupted binary history block (" + records + " records in "
+                        + payloadLength + " bytes)");
+            }
+            payload = readBytes(payload, payloadLength);
+            crc.update(payload, 0, payloadLength);
+            require(4);
+            if ((int) crc.getValue() != in.readInt()) {
+                throw new IOException("Corrupted binary history block (CRC mismatch)");
+            }
+            int[] position = {0, payloadLength}; // Read position, payload end
+            for (int i = 0; i < records; i++) {
+                String personId = readString(0, payload, position);
+                String name = readString(1, payload, position);
+                int zigzag = readVarInt(payload, position);
+                int age = (zigzag >>> 1) ^ -(zigzag & 1);
+                String visitorId = readString(2, payload, position);
+                String membership = readString(3, payload, position);
+                sink.accept(personId, name, age, visitorId, membership);
+            }
+            total += records;
+        }
+    }
+
+    /**
+     * Decode one String field of a record (tag: null, dictionary code, inline or front-coded bytes)
+     * @param column String column (0 = person ID, 1 = name, 2 = visitor ID, 3 = membership)
+     * @param payload Block payload
+     * @param position {read position (advanced in place), payload end}
+     * @return String (null allowed)
+     * @throws IOException If the field is truncated or refers to an unknown code or prefix
+     */
+    private String readString(int column, byte[] payload, int[] position) throws IOException {
+        int tag = readVarInt(payload, position);
+        if ((tag & 1) == 0) {
+            return lookup(tag >>> 1);
+        }
+        int length = tag >>> 2;
+        int shared = (tag & 2) == 0 ? 0 : readVarInt(payload, position);
+        if (shared > previousLength[column] || length > position[1] - position[0]) {
+            throw new IOException("Corrupted binary history block (string of " + shared + " + " + length + " bytes)");
+        }
+        byte[] previous = previousInline[column];
+        if (shared + length > previous.length) {
+            previous = Arrays.copyOf(previous, Math.max(previous.length * 2, shared + length));
+            previousInline[column] = previous;
+        }
+        System.arraycopy(payload, position[0], previous, shared, length);
+        position[0] += length;
+        previousLength[column] = shared + length;
+        return new String(previous, 0, shared + length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decode a UTF-8 String from a byte array
+     * @param bytes Source
+     * @param position {read position (advanced in place), end of valid bytes}
+     * @param length Bytes in the String
+     * @return Decoded String
+     * @throws IOException If the String runs past the end of the valid bytes
+     */
+    private static String readUtf8(byte[] bytes, int[] position, int length) throws IOException {
+        if (length > position[1] - position[0]) {
+            throw new IOException("Truncated binary history block (string of " + length + " bytes)");
+        }
+        String value = new String(bytes, position[0], length, StandardCharsets.UTF_8);
+        position[0] += length;
+        return value;
+    }
+
+    /**
+     * Fail unless the source still holds the given number of bytes, then count them as consumed
+     * @param bytes Bytes about to be read
+     * @throws IOException If fewer bytes are left
+     */
+    private void require(long bytes) throws IOException {
+        if (bytes > remaining) {
+            throw new IOException("Truncated binary history (" + bytes + " bytes needed, " + remaining + " left)");
+        }
+        remaining -= bytes;
+    }
+
+    /**
+     * Read exactly length bytes of the source into the start of a buffer
+     * A buffer that is too small grows as the bytes arrive (doubling from at most MAX_UNREAD_ALLOCATION),
+     * so a corrupted length cannot allocate much more than the source really holds
+     * @param buffer Reusable buffer
+     * @param length Bytes to read
+     * @return Buffer holding the bytes (the given one, or a larger copy)
+     * @throws IOException If the source holds fewer bytes
+     */
+    private byte[] readBytes(byte[] buffer, int length) throws IOException {
+        require(length);
+        if (buffer.length < length) {
+            buffer = new byte[Math.min(length, Math.max(buffer.length, MAX_UNREAD_ALLOCATION))];
+        }
+        int filled = 0;
+        while (filled < length) {
+            if (filled == buffer.length) {
+                buffer = Arrays.copyOf(buffer, (int) Math.min(length, 2L * buffer.length));
+            }
+            int chunk = Math.min(length, buffer.length) - filled;
+            in.readFully(buffer, filled, chunk);
+            filled += chunk;
+        }
+        return buffer;
+    }
+
+    /**
+     * Read a count or length varint from the source
+     * @return Value (non-negative)
+     * @throws IOException If the stream ends or the value is malformed or negative
+     */
+    private int readLength() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            require(1);
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IOException("Corrupted binary history (negative length " + value + ")");
+                }
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Add a String to the dictionary
+     * @param value Decoded String
+     */
+    private void addEntry(String value) {
+        if (dictionarySize == dictionary.length) {
+            dictionary = Arrays.copyOf(dictionary, dictionary.length * 2);
+        }
+        dictionary[dictionarySize++] = value;
+    }
+
+    /**
+     * Resolve a String code
+     * @param code Code (0 = null)
+     * @return String
+     * @throws IOException If the code is not in the dictionary
+     */
+    private String lookup(int code) throws IOException {
+        if (code < 0 || code >= dictionarySize) {
+            throw new IOException("Corrupted binary history (unknown string code " + code + ")");
+        }
+        return dictionary[code];
+    }
+
+    /**
+     * Receiver of one decoded record's fields (lets a store such as ColumnarVisitorHistory skip the Visitor)
+     */
+    public interface RecordSink {
+        /**
+         * Take one record
+         * @param personId Person ID (null allowed)
+         * @param name Name (null allowed)
+         * @param age Age
+         * @param visitorId Visitor ID (null allowed)
+         * @param membershipType Membership tier (null allowed)
+         */
+        void accept(String personId, String name, int age, String visitorId, String membershipType);
+    }
+
+    /**
+     * Read an unsigned LEB128 varint from a byte array
+     * @param bytes Source
+     * @param position {read position (advanced in place), end of valid bytes}
+     * @return Value
+     * @throws IOException If the varint runs past the array or is too long
+     */
+    private static int readVarInt(byte[] bytes, int[] position) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (position[0] >= position[1]) {
+                throw new IOException("Truncated binary history block");
+            }
+            int b = bytes[position[0]++] & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,301 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Writer for the compact binary history format (binary alternative to the Part6 CSV export)
+ * Layout: header [magic "RHB1"][version u16 = 1], then blocks, then an end block (record count 0)
+ * Block: [record count varint][new dictionary entries varint][dictionary length varint]
+ *        [entries: length varint + UTF-8 bytes][payload length varint][payload]
+ *        [CRC32 of entries and payload, 4 bytes]
+ * Record (in payload): person ID, name, age (zig-zag varint), visitor ID, membership
+ * Each String field is a varint tag: 0 = null, 2n = n-th dictionary entry, 4n + 1 = n UTF-8 bytes that follow
+ * inline, 4n + 3 = front-coded: a prefix length p (varint) and n bytes follow, and the value is the first p bytes of
+ * the column's previous inline value followed by those n bytes
+ * The dictionary grows across blocks, so a repeating String (name, membership) is stored once per file;
+ * a column whose values hardly repeat (person ID, visitor ID) is written inline and skips the dictionary lookup
+ * (re-checked every LITERAL_BLOCKS blocks). Inline ASCII values share their prefix with the previous value of the
+ * column, so "VIS100234" after "VIS100233" costs 3 bytes, and numbers are never written as text
+ */
+public class BinaryHistoryWriter implements Closeable {
+    // File magic ("RHB1")
+    static final int MAGIC = 0x52484231;
+    // Format version
+    static final int VERSION = 1;
+    // Records per block
+    static final int BLOCK_RECORDS = 4096;
+    // Blocks a low-repeat column stays inline before the dictionary is tried again
+    private static final int LITERAL_BLOCKS = 16;
+    // A column goes inline when fewer than 1 in this many of its values were already in the dictionary
+    private static final int MIN_HIT_RATIO = 8;
+    // String columns: person ID, name, visitor ID, membership
+    private static final int COLUMNS = 4;
+    // Shortest shared prefix worth front-coding (the prefix length costs a byte)
+    private static final int MIN_SHARED_PREFIX = 2;
+
+    // Destination stream
+    private final DataOutputStream out;
+    // String → code (codes start at 1; 0 means null)
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    // Strings first used in the current block (written in the block's dictionary section)
+    private final GrowableBytes newEntries = new GrowableBytes(1024);
+    private int newEntryCount;
+    // Encoded records of the current block
+    private final GrowableBytes payload = new GrowableBytes(64 * 1024);
+    private int blockRecords;
+    // Per column: dictionary hits in the current block, and blocks left in inline mode (0 = dictionary mode)
+    private final int[] dictionaryHits = new int[COLUMNS];
+    private final int[] literalBlocksLeft = new int[COLUMNS];
+    // Per column: last value written inline (front-coding base; null = none or not ASCII)
+    private final String[] previousInline = new String[COLUMNS];
+    // Records written in total
+    private long recordCount;
+
+    /**
+     * Parameterized constructor (writes the file header)
+     * @param out Destination stream (buffered internally)
+     * @throws IOException If the header cannot be written
+     */
+    public BinaryHistoryWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 64 * 1024));
+        this.out.writeInt(MAGIC);
+        this.out.writeShort(VERSION);
+    }
+
+    /**
+     * Append one record
+     * @param visitor Visitor to write (non-null)
+     * @throws IOException If a full block cannot be flushed
+     */
+    public void write(Visitor visitor) throws IOException {
+        writeString(0, visitor.getId());
+        writeString(1, visitor.getName());
+        payload.writeVarInt((visitor.getAge() << 1) ^ (visitor.getAge() >> 31)); // Zig-zag keeps small negatives short
+        writeString(2, visitor.getVisitorId());
+        writeString(3, visitor.getMembershipType());
+        blockRecords++;
+        recordCount++;
+        if (blockRecords == BLOCK_RECORDS) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * Get number of records written so far
+     * @return recordCount (long)
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Flush the last block, write the end block and close the stream
+     * @throws IOException If writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBlock();
+            writeVarInt(out, 0); // End block
+            out.flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Write one String field as a dictionary reference or inline, depending on its column's mode
+     * @param column Column index (counts dictionary hits)
+     * @param value String (null allowed)
+     */
+    private void writeString(int column, String value) {
+        if (value == null) {
+            payload.writeVarInt(0);
+        } else if (literalBlocksLeft[column] > 0) {
+            writeInline(column, value);
+        } else {
+            Integer code = dictionary.get(value);
+            if (code == null) {
+                code = dictionary.size() + 1;
+                dictionary.put(value, code);
+                if (isAscii(value)) {
+                    newEntries.writeVarInt(value.length());
+                    newEntries.writeAscii(value, 0);
+                } else {
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    newEntries.writeVarInt(bytes.length);
+                    newEntries.write(bytes, 0, bytes.length);
+                }
+                newEntryCount++;
+            } else {
+                dictionaryHits[column]++;
+            }
+            payload.writeVarInt(code << 1);
+        }
+    }
+
+    /**
+     * Write a String field inline, front-coded against the column's previous inline value when they share a prefix
+     * ASCII Strings are copied char by char, without the temporary array of String.getBytes
+     * @param column Column index
+     * @param value String (non-null)
+     */
+    private void writeInline(int column, String value) {
+        if (!isAscii(value)) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            payload.writeVarInt(bytes.length << 2 | 1);
+            payload.write(bytes, 0, bytes.length);
+            previousInline[column] = null; // Prefixes are shared in bytes, so only ASCII values are a base
+            return;
+        }
+        String previous = previousInline[column];
+        int length = value.length();
+        int shared = 0;
+        if (previous != null) {
+            int limit = Math.min(length, previous.length());
+            while (shared < limit && value.charAt(shared) == previous.charAt(shared)) {
+                shared++;
+            }
+        }
+        if (shared >= MIN_SHARED_PREFIX) {
+            payload.writeVarInt((length - shared) << 2 | 3);
+            payload.writeVarInt(shared);
+        } else {
+            payload.writeVarInt(length << 2 | 1);
+            shared = 0;
+        }
+        payload.writeAscii(value, shared);
+        previousInline[column] = value;
+    }
+
+    /**
+     * Check if a String is pure ASCII (one UTF-8 byte per char)
+     * @param value String
+     * @return true = every char is below 0x80
+     */
+    private static boolean isAscii(String value) {
+        for (int i = 0, length = value.length(); i < length; i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Pick each column's mode for the next block from the hit rate of the block just written
+     */
+    private void updateColumnModes() {
+        for (int column = 0; column < COLUMNS; column++) {
+            if (literalBlocksLeft[column] > 0) {
+                literalBlocksLeft[column]--;
+            } else if (dictionaryHits[column] * MIN_HIT_RATIO < blockRecords) {
+                literalBlocksLeft[column] = LITERAL_BLOCKS;
+            }
+            dictionaryHits[column] = 0;
+        }
+    }
+
+    /**
+     * Write the current block (if it has records) and start a new one
+     * @throws IOException If writing fails
+     */
+    private void flushBlock() throws IOException {
+        if (blockRecords == 0) {
+            return;
+        }
+        writeVarInt(out, blockRecords);
+        writeVarInt(out, newEntryCount);
+        writeVarInt(out, newEntries.size());
+        out.write(newEntries.array(), 0, newEntries.size());
+        writeVarInt(out, payload.size());
+        out.write(payload.array(), 0, payload.size());
+        CRC32 crc = new CRC32();
+        crc.update(newEntries.array(), 0, newEntries.size());
+        crc.update(payload.array(), 0, payload.size());
+        out.writeInt((int) crc.getValue());
+        updateColumnModes();
+        blockRecords = 0;
+        newEntryCount = 0;
+        newEntries.reset();
+        payload.reset();
+    }
+
+    /**
+     * Write an unsigned LEB128 varint to a stream
+     * @param out Destination
+     * @param value Value (treated as unsigned)
+     * @throws IOException If writing fails
+     */
+    static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Minimal growable byte array (avoids ByteArrayOutputStream's synchronized methods and final copy)
+     */
+    static final class GrowableBytes {
+        private byte[] bytes;
+        private int size;
+
+        GrowableBytes(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        void writeVarInt(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            bytes[size++] = (byte) (value >>> 24);
+            bytes[size++] = (byte) (value >>> 16);
+            bytes[size++] = (byte) (value >>> 8);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeAscii(String value, int from) {
+            int length = value.length();
+            ensure(length - from);
+            for (int i = from; i < length; i++) {
+                bytes[size++] = (byte) value.charAt(i);
+            }
+        }
+
+        void write(byte[] src, int offset, int length) {
+            ensure(length);
+            System.arraycopy(src, offset, bytes, size, length);
+            size += length;
+        }
+
+        byte[] array() {
+            return bytes;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
\ No newline at end of file
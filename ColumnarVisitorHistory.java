@@ -0,0 +1,270 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Column-oriented ride history store (alternative to LinkedList for Assessment Part4A history)
+ * Each record is ~17 bytes: ages in int[], membership as a byte code, person ID/name/visitor ID as dictionary codes
+ * Each distinct String is stored once in the store's own dictionary (released by clear()); repeated IDs and names
+ * cost only their 4-byte codes, a unique ID costs its String plus about 12 bytes of dictionary
+ * Columns grow in fixed-size chunks (no large array copies); Visitor objects are created only when a record is read
+ * Design purpose: Keep a season's history in heap (a LinkedList record costs a node, a Visitor and four Strings)
+ * Note: get() returns a fresh Visitor view; changing it does not change the stored record (use set() instead)
+ */
+public class ColumnarVisitorHistory extends AbstractList<Visitor> implements RandomAccess {
+    // Records per chunk (power of two so index math is shift/mask)
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    // Membership tiers per store are limited by the byte code
+    private static final int MAX_TIERS = 256;
+
+    // Dictionary holding person IDs, names and visitor IDs
+    private StringDictionary dictionary;
+    // true = the dictionary belongs to this store and is dropped by clear()
+    private final boolean ownsDictionary;
+    // Column chunks
+    private int[][] ages;
+    private byte[][] tierCodes;
+    private int[][] personIdCodes;
+    private int[][] nameCodes;
+    private int[][] visitorIdCodes;
+    // Membership tier table (byte code → tier name)
+    private String[] tiers;
+    private int tierCount;
+    // Number of records stored
+    private int size;
+
+    /**
+     * Default constructor (uses a dictionary of its own, dropped by clear())
+     */
+    public ColumnarVisitorHistory() {
+        this(new StringDictionary(), true);
+    }
+
+    /**
+     * Parameterized constructor (shares a dictionary with other stores; clear() keeps its entries)
+     * @param dictionary Dictionary for person IDs, names and visitor IDs
+     */
+    public ColumnarVisitorHistory(StringDictionary dictionary) {
+        this(Objects.requireNonNull(dictionary, "dictionary"), false);
+    }
+
+    /**
+     * Constructor used by the public ones
+     * @param dictionary Dictionary for person IDs, names and visitor IDs
+     * @param ownsDictionary true = clear() replaces the dictionary with an empty one
+     */
+    private ColumnarVisitorHistory(StringDictionary dictionary, boolean ownsDictionary) {
+        this.dictionary = dictionary;
+        this.ownsDictionary = ownsDictionary;
+        this.ages = new int[0][];
+        this.tierCodes = new byte[0][];
+        this.personIdCodes = new int[0][];
+        this.nameCodes = new int[0][];
+        this.visitorIdCodes = new int[0][];
+        this.tiers = new String[4];
+        this.tierCount = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Get number of records
+     * @return size (int)
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Materialise a Visitor view of one record
+     * @param index Record position
+     * @return New Visitor holding the record's values
+     */
+    @Override
+    public Visitor get(int index) {
+        checkIndex(index);
+        int chunk = index >>> CHUNK_SHIFT;
+        int slot = index & CHUNK_MASK;
+        return new Visitor(
+                dictionary.lookup(personIdCodes[chunk][slot]),
+                dictionary.lookup(nameCodes[chunk][slot]),
+                ages[chunk][slot],
+                dictionary.lookup(visitorIdCodes[chunk][slot]),
+                tierName(tierCodes[chunk][slot]));
+    }
+
+    /**
+     * Get the age of one record without creating a Visitor
+     * @param index Record position
+     * @return Age (int)
+     */
+    public int ageAt(int index) {
+        checkIndex(index);
+        return ages[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    /**
+     * Get the visitor ID of one record without creating a Visitor
+     * @param index Record position
+     * @return Visitor ID (interned String)
+     */
+    public String visitorIdAt(int index) {
+        checkIndex(index);
+        return dictionary.lookup(visitorIdCodes[index >>> CHUNK_SHIFT][index & CHUNK_MASK]);
+    }
+
+    /**
+     * Overwrite one record (used by in-place sorting)
+     * @param index Record position
+     * @param visitor New values (non-null)
+     * @return Previous record as a Visitor view
+     */
+    @Override
+    public Visitor set(int index, Visitor visitor) {
+        Visitor previous = get(index);
+        write(index, visitor);
+        return previous;
+    }
+
+    /**
+     * Append a record (grows by one chunk when the last chunk is full)
+     * @param visitor Visitor to store (non-null)
+     * @return true
+     */
+    @Override
+    public boolean add(Visitor visitor) {
+        if (visitor == null) {
+            throw new NullPointerException("visitor");
+        }
+        if ((size >>> CHUNK_SHIFT) == ages.length) {
+            addChunk();
+        }
+        write(size, visitor);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Append a record from its field values, without a Visitor (used by snapshot restore)
+     * @param personId Person ID
+     * @param name Name
+     * @param age Age
+     * @param visitorId Visitor ID
+     * @param membershipType Membership tier
+     */
+    public void addRecord(String personId, String name, int age, String visitorId, String membershipType) {
+        if ((size >>> CHUNK_SHIFT) == ages.length) {
+            addChunk();
+        }
+        write(size, personId, name, age, visitorId, membershipType);
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Remove all records (releases every chunk, and the dictionary if the store owns it)
+     */
+    @Override
+    public void clear() {
+        ages = new int[0][];
+        tierCodes = new byte[0][];
+        personIdCodes = new int[0][];
+        nameCodes = new int[0][];
+        visitorIdCodes = new int[0][];
+        size = 0;
+        if (ownsDictionary) {
+            dictionary = new StringDictionary();
+        }
+        modCount++;
+    }
+
+    /**
+     * Store a visitor's values in the given position
+     * @param index Record position (its chunk must exist)
+     * @param visitor Values to store
+     */
+    private void write(int index, Visitor visitor) {
+        write(index, visitor.getId(), visitor.getName(), visitor.getAge(), visitor.getVisitorId(),
+                visitor.getMembershipType());
+    }
+
+    /**
+     * Store field values in the given position
+     * @param index Record position (its chunk must exist)
+     * @param personId Person ID
+     * @param name Name
+     * @param age Age
+     * @param visitorId Visitor ID
+     * @param membershipType Membership tier
+     */
+    private void write(int index, String personId, String name, int age, String visitorId, String membershipType) {
+        int chunk = index >>> CHUNK_SHIFT;
+        int slot = index & CHUNK_MASK;
+        ages[chunk][slot] = age;
+        tierCodes[chunk][slot] = tierCode(membershipType);
+        personIdCodes[chunk][slot] = dictionary.intern(personId);
+        nameCodes[chunk][slot] = dictionary.intern(name);
+        visitorIdCodes[chunk][slot] = dictionary.intern(visitorId);
+    }
+
+    /**
+     * Add one empty chunk to every column
+     */
+    private void addChunk() {
+        int chunks = ages.length + 1;
+        ages = Arrays.copyOf(ages, chunks);
+        tierCodes = Arrays.copyOf(tierCodes, chunks);
+        personIdCodes = Arrays.copyOf(personIdCodes, chunks);
+        nameCodes = Arrays.copyOf(nameCodes, chunks);
+        visitorIdCodes = Arrays.copyOf(visitorIdCodes, chunks);
+        ages[chunks - 1] = new int[CHUNK_SIZE];
+        tierCodes[chunks - 1] = new byte[CHUNK_SIZE];
+        personIdCodes[chunks - 1] = new int[CHUNK_SIZE];
+        nameCodes[chunks - 1] = new int[CHUNK_SIZE];
+        visitorIdCodes[chunks - 1] = new int[CHUNK_SIZE];
+    }
+
+    /**
+     * Get the byte code for a membership tier (adds unseen tiers to the tier table)
+     * @param tier Membership type (null allowed)
+     * @return Byte code
+     */
+    private byte tierCode(String tier) {
+        for (int i = 0; i < tierCount; i++) {
+            if (Objects.equals(tiers[i], tier)) {
+                return (byte) i;
+            }
+        }
+        if (tierCount == MAX_TIERS) {
+            throw new IllegalStateException("Too many membership tiers (max " + MAX_TIERS + ")");
+        }
+        if (tierCount == tiers.length) {
+            tiers = Arrays.copyOf(tiers, tiers.length * 2);
+        }
+        tiers[tierCount] = tier;
+        return (byte) tierCount++;
+    }
+
+    /**
+     * Get the tier name for a byte code
+     * @param code Byte code
+     * @return Membership type
+     */
+    private String tierName(byte code) {
+        return tiers[code & 0xFF];
+    }
+
+    /**
+     * Validate a record position
+     * @param index Record position
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
\ No newline at end of file
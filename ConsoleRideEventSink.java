@@ -0,0 +1,123 @@
+import java.io.PrintStream;
+
+/**
+ * Event sink that prints events to the console (default sink, same text Ride has always printed)
+ */
+public class ConsoleRideEventSink implements RideEventSink {
+    // Shared instance writing to System.out
+    public static final ConsoleRideEventSink INSTANCE = new ConsoleRideEventSink(System.out);
+
+    // Output stream (System.out by default)
+    private final PrintStream out;
+
+    /**
+     * Parameterized constructor
+     * @param out Stream to print to
+     */
+    public ConsoleRideEventSink(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Print the formatted event
+     * @param event Event published by a Ride
+     */
+    @Override
+    public void publish(RideEvent event) {
+        out.println(format(event));
+    }
+
+    /**
+     * Format an event as the console message for its type
+     * @param event Event to format
+     * @return Human-readable message
+     */
+    public static String format(RideEvent event) {
+        String ride = event.getRideName();
+        Visitor visitor = event.getVisitor();
+        switch (event.getType()) {
+            case QUEUE_ADDED:
+                return "[Success] Visitor " + visitor.getName() + " added to " + ride + " queue";
+            case QUEUE_NULL_REJECTED:
+                return "[Failed] Cannot add null visitor to queue";
+            case QUEUE_REMOVED:
+                return "[Success] Visitor " + visitor.getName() + " removed from " + ride + " queue";
+            case QUEUE_EMPTY_ON_REMOVE:
+                return "[Failed] " + ride + " queue is empty—cannot remove visitor";
+            case QUEUE_ADMISSION_REJECTED:
+                return "[Failed] Visitor " + visitor.getName() + " does not meet " + ride + " admission rules: "
+                        + event.getDetail();
+            case QUEUE_BATCH_ADMITTED:
+                return "[Success] Admitted " + event.getCount() + " visitors to " + ride + " queue, rejected "
+                        + event.getDetail() + " (" + event.getRemaining() + " visitors waiting)";
+            case HISTORY_ADDED:
+                return "[Success] Visitor " + visitor.getName() + " added to " + ride + " history";
+            case HISTORY_NULL_REJECTED:
+                return "[Failed] Cannot add null visitor to ride history";
+            case SORT_SKIPPED_EMPTY:
+                return "[Info] " + ride + " ride history is empty—no sorting needed";
+            case SORT_UNSUPPORTED:
+                return "[Warning] " + ride + " history is bounded (spilled to disk)—sorting is not supported";
+            case HISTORY_SORTED:
+                return "[Success] " + ride + " history sorted by: Age (ascending) → Name (alphabetical)";
+            case NO_OPERATOR:
+                return "[Failed] " + ride + " has no operator—cannot run";
+            case NO_SEATS:
+                return "[Failed] " + ride + " has no seats (max riders: " + event.getCount() + ")—cannot run";
+            case QUEUE_EMPTY_ON_RUN:
+                return "[Failed] " + ride + " queue is empty—cannot run";
+            case CYCLE_STARTED:
+                return "\n[Starting Cycle] " + ride + " Cycle " + event.getCycle() + "—planned riders: " + event.getCount();
+            case CYCLE_COMPLETED:
+                return "[Cycle Complete] " + ride + " Cycle " + event.getCycle() + " finished—total cycles: " + event.getCycle();
+            case BULK_RUN_COMPLETED:
+                return "[Success] " + ride + " bulk run: " + event.getCycle() + " cycles, " + event.getCount()
+                        + " riders moved, " + event.getRemaining() + " left waiting";
+            case EXPORT_SKIPPED_EMPTY:
+                return "[Failed] " + ride + " history is empty—cannot export";
+            case EXPORTED:
+                return "[Success] " + ride + " history exported to: " + event.getDetail();
+            case EXPORT_FAILED:
+                return "[Error] Failed to export file: " + event.getDetail();
+            case IMPORT_FILE_NOT_FOUND:
+                return "[Failed] File not found: " + event.getDetail();
+            case IMPORT_RECORD_SKIPPED:
+                return "[Warning] Skipping invalid record: " + event.getDetail();
+            case IMPORT_ROWS_REJECTED:
+                return "[Warning] Skipped " + event.getCount() + " invalid records in " + event.getDetail();
+            case IMPORTED:
+                return "[Success] Imported " + event.getCount() + " records from " + event.getDetail() + " to " + ride;
+            case IMPORT_FAILED:
+                return "[Error] Failed to import file: " + event.getDetail();
+            case IMPORT_BAD_NUMBER:
+                return "[Error] Invalid record format (age not numeric): " + event.getDetail();
+            case JOURNAL_OPENED:
+                return "[Success] " + ride + " history journal opened: " + event.getDetail() + " (group commit every " + event.getCount() + " records)";
+            case JOURNAL_COMMITTED:
+                return "[Success] " + ride + " history journal committed—" + event.getCount() + " records journaled";
+            case JOURNAL_FAILED:
+                return "[Error] History journal failed: " + event.getDetail();
+            case SPILL_FAILED:
+                return "[Error] Bounded history spill file failed: " + event.getDetail();
+            case SNAPSHOT_SAVED:
+                return "[Success] " + ride + " snapshot saved to " + event.getDetail()
+                        + " (" + event.getCount() + " history records)";
+            case SNAPSHOT_RESTORED:
+                return "[Success] " + ride + " restored from snapshot " + event.getDetail()
+                        + " (" + event.getCount() + " history records)";
+            case SNAPSHOT_FAILED:
+                return "[Error] Ride snapshot failed: " + event.getDetail();
+            case QUEUE_LOG_OPENED:
+                return "[Success] " + ride + " queue log opened: " + event.getDetail() + " (fsync every " + event.getCount() + " entries)";
+            case QUEUE_LOG_COMMITTED:
+                return "[Success] " + ride + " queue log committed—" + event.getCount() + " entries logged";
+            case QUEUE_LOG_REPLAYED:
+                return "[Success] " + ride + " replayed " + event.getCount() + " queue log entries from " + event.getDetail()
+                        + " (" + event.getRemaining() + " visitors waiting)";
+            case QUEUE_LOG_FAILED:
+                return "[Error] Queue log failed: " + event.getDetail();
+            default:
+                return event.toString();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+/**
+ * Result of an asynchronous history export (returned by Ride.exportRideHistoryAsync)
+ */
+public class CsvExportStats {
+    // Records written
+    private final int exported;
+    // Bytes written (header included)
+    private final long bytes;
+    // Time from the export call to the last byte written (nanoseconds)
+    private final long elapsedNanos;
+
+    /**
+     * Parameterized constructor
+     * @param exported Records written
+     * @param bytes Bytes written
+     * @param elapsedNanos Export time in nanoseconds
+     */
+    public CsvExportStats(int exported, long bytes, long elapsedNanos) {
+        this.exported = exported;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Get number of records written
+     * @return exported (int)
+     */
+    public int getExported() {
+        return exported;
+    }
+
+    /**
+     * Get number of bytes written
+     * @return bytes (long)
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Get export time
+     * @return elapsedNanos (long, nanoseconds)
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Override toString for a one-line summary
+     * @return Summary as String
+     */
+    @Override
+    public String toString() {
+        return "CsvExportStats{exported=" + exported + ", bytes=" + bytes + ", elapsedMs=" + elapsedNanos / 1_000_000 + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+/**
+ * Counters from a fast history import (returned by MappedCsvHistoryReader / Ride.importRideHistoryMapped)
+ * Malformed rows are counted here instead of being reported one exception or line at a time
+ */
+public class CsvImportStats {
+    // Records parsed and imported
+    private final int imported;
+    // Non-blank rows rejected (wrong column count/type or non-numeric age)
+    private final int malformed;
+    // File size in bytes
+    private final long bytes;
+    // Time spent reading and parsing (nanoseconds)
+    private final long elapsedNanos;
+
+    /**
+     * Parameterized constructor
+     * @param imported Records imported
+     * @param malformed Rows rejected
+     * @param bytes File size in bytes
+     * @param elapsedNanos Read + parse time in nanoseconds
+     */
+    public CsvImportStats(int imported, int malformed, long bytes, long elapsedNanos) {
+        this.imported = imported;
+        this.malformed = malformed;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Get number of records imported
+     * @return imported (int)
+     */
+    public int getImported() {
+        return imported;
+    }
+
+    /**
+     * Get number of malformed rows skipped
+     * @return malformed (int)
+     */
+    public int getMalformed() {
+        return malformed;
+    }
+
+    /**
+     * Get file size in bytes
+     * @return bytes (long)
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Get read + parse time
+     * @return elapsedNanos (long, nanoseconds)
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Override toString for a one-line summary
+     * @return Summary as String
+     */
+    @Override
+    public String toString() {
+        return "CsvImportStats{imported=" + imported + ", malformed=" + malformed + ", bytes=" + bytes
+                + ", elapsedMs=" + (elapsedNanos / 1_000_000) + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+/**
+ * Result of a bulk cycle run (returned by Ride.runCycles/runUntilEmpty, extends Assessment Part5)
+ * Compact summary instead of per-visitor console output
+ */
+public class CycleRunResult {
+    // Number of cycles actually run
+    private final int cycles;
+    // Visitors moved from the waiting queue to ride history
+    private final int ridersMoved;
+    // Visitors still waiting after the run
+    private final int leftover;
+
+    /**
+     * Parameterized constructor
+     * @param cycles Cycles run
+     * @param ridersMoved Riders moved to history
+     * @param leftover Visitors left in the queue
+     */
+    public CycleRunResult(int cycles, int ridersMoved, int leftover) {
+        this.cycles = cycles;
+        this.ridersMoved = ridersMoved;
+        this.leftover = leftover;
+    }
+
+    /**
+     * Get number of cycles run
+     * @return cycles (int)
+     */
+    public int getCycles() {
+        return cycles;
+    }
+
+    /**
+     * Get number of riders moved to history
+     * @return ridersMoved (int)
+     */
+    public int getRidersMoved() {
+        return ridersMoved;
+    }
+
+    /**
+     * Get number of visitors left waiting
+     * @return leftover (int)
+     */
+    public int getLeftover() {
+        return leftover;
+    }
+
+    /**
+     * Override toString for a one-line summary
+     * @return Summary as String
+     */
+    @Override
+    public String toString() {
+        return "CycleRunResult{cycles=" + cycles + ", ridersMoved=" + ridersMoved + ", leftover=" + leftover + "}";
+    }
+}
\ No newline at end of file
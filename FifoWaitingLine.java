@@ -0,0 +1,103 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Single-lane waiting queue (Ride's default queue, and one lane of a PriorityLaneQueue)
+ * Plain mode keeps entries in an ArrayDeque; concurrent mode in a lock-free ConcurrentLinkedQueue that turnstile
+ * threads can offer to while one operator thread polls
+ */
+public class FifoWaitingLine extends WaitingLine {
+    // Waiting entries, oldest first
+    private final Queue<Entry> entries;
+
+    /**
+     * Parameterized constructor
+     * @param concurrent true = lock-free queue for multiple producer threads, false = plain ArrayDeque
+     */
+    public FifoWaitingLine(boolean concurrent) {
+        this.entries = concurrent ? new ConcurrentLinkedQueue<>() : new ArrayDeque<>();
+    }
+
+    /**
+     * Add visitor to the tail of the queue together with its join time (O(1))
+     * @param visitor Visitor to add (non-null)
+     * @param joinedAt Join time in nanoseconds (NO_JOIN_TIME = unknown)
+     * @return true (the queue is unbounded)
+     */
+    @Override
+    public boolean offer(Visitor visitor, long joinedAt) {
+        Objects.requireNonNull(visitor, "visitor");
+        return entries.offer(new Entry(visitor, joinedAt));
+    }
+
+    /**
+     * Remove the oldest entry (O(1))
+     * @return Oldest entry, or null if the queue is empty
+     */
+    @Override
+    Entry pollEntry() {
+        return entries.poll();
+    }
+
+    /**
+     * Iterate entries oldest first
+     * @return Iterator over waiting entries
+     */
+    @Override
+    Iterator<Entry> entries() {
+        return entries.iterator();
+    }
+
+    /**
+     * Peek at the oldest visitor
+     * @return Oldest visitor, or null if the queue is empty
+     */
+    @Override
+    public Visitor peek() {
+        Entry entry = entries.peek();
+        return entry == null ? null : entry.visitor;
+    }
+
+    /**
+     * Get number of visitors waiting (O(n) in concurrent mode, like ConcurrentLinkedQueue)
+     * @return Queue size (int)
+     */
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Check if the queue is empty
+     * @return true = no visitors waiting
+     */
+    @Override
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Iterate visitors oldest first
+     * @return Iterator over waiting visitors (supports remove())
+     */
+    @Override
+    public Iterator<Visitor> iterator() {
+        Iterator<Entry> it = entries.iterator();
+        return new Iterator<Visitor>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Visitor next() {
+                return it.next().visitor;
+            }
+
+            @Override
+            public void remove() {
+                it.remove();
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,215 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Append-only history journal (incremental alternative to re-exporting the whole history)
+ * Each new history record is appended as one CSV line; records are flushed and forced to disk in groups
+ * (group commit), so a checkpoint costs O(new records) instead of O(total history)
+ * The file is an ordinary history CSV (header + Visitor rows): importRideHistory/importRideHistoryMapped replay it
+ * Reopening a journal first truncates a torn last line (no trailing newline, e.g. after a crash), so the next
+ * record starts on a line of its own
+ * The first I/O error closes the journal: later records are not appended (a failed write may have left a partial
+ * line, so the file is only trusted up to the last successful commit) and getLastError keeps reporting the error
+ */
+public class HistoryJournal implements RideHistoryListener, Closeable {
+    // CSV header (same as Ride.exportRideHistory)
+    private static final String HEADER = "Type,PersonId,Name,Age,VisitorId,MembershipType";
+
+    // Journal file stream (append mode; its channel is forced on commit)
+    private final FileOutputStream fileStream;
+    // Buffered text writer on top of fileStream
+    private final BufferedWriter writer;
+    // Records per group commit
+    private final int groupSize;
+    // Records written since the last commit
+    private int pending;
+    // Records written in total / disk flushes performed
+    private long recordCount;
+    private long commitCount;
+    // First I/O error; once set the journal is closed (listener callbacks cannot throw checked exceptions)
+    private IOException lastError;
+
+    /**
+     * Parameterized constructor (opens the journal for appending, writing the header if the file is new/empty)
+     * A partial last line left by a crash is truncated first
+     * @param filePath Journal file path
+     * @param groupSize Records per disk flush (1 = flush every record)
+     * @throws IOException If the file cannot be opened or truncated
+     */
+    public HistoryJournal(String filePath, int groupSize) throws IOException {
+        if (groupSize <= 0) {
+            throw new IllegalArgumentException("Group size must be positive: " + groupSize);
+        }
+        File file = new File(filePath);
+        if (file.length() > 0) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                long validEnd = endOfLastLine(channel);
+                if (validEnd < channel.size()) {
+                    channel.truncate(validEnd); // Drop the torn line
+                }
+            }
+        }
+        boolean needsHeader = file.length() == 0;
+        this.fileStream = new FileOutputStream(file, true);
+        this.writer = new BufferedWriter(new OutputStreamWriter(fileStream, StandardCharsets.UTF_8), 64 * 1024);
+        this.groupSize = groupSize;
+        if (needsHeader) {
+            writer.write(HEADER);
+            writer.newLine();
+        }
+    }
+
+    /**
+     * Append one record (commits when the group is full)
+     * @param ride Ride whose history grew
+     * @param visitor Appended record
+     */
+    @Override
+    public void onVisitorAdded(Ride ride, Visitor visitor) {
+        if (lastError != null) {
+            return;
+        }
+        try {
+            writer.write(visitor.toCsvString());
+            writer.newLine();
+            recordCount++;
+            if (++pending >= groupSize) {
+                commit();
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Append a batch of records (one commit check for the whole batch)
+     * @param ride Ride whose history grew
+     * @param visitors Appended records
+     */
+    @Override
+    public void onVisitorsAdded(Ride ride, List<Visitor> visitors) {
+        if (lastError != null) {
+            return;
+        }
+        try {
+            for (Visitor visitor : visitors) {
+                writer.write(visitor.toCsvString());
+                writer.newLine();
+            }
+            recordCount += visitors.size();
+            pending += visitors.size();
+            if (pending >= groupSize) {
+                commit();
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Flush buffered records and force them to disk (checkpoint)
+     * @throws IOException If flushing fails, or the journal was closed by an earlier error (that error is rethrown)
+     */
+    public void commit() throws IOException {
+        if (lastError != null) {
+            throw lastError;
+        }
+        if (pending == 0) {
+            return;
+        }
+        try {
+            writer.flush();
+            fileStream.getChannel().force(false);
+        } catch (IOException e) {
+            fail(e);
+            throw e;
+        }
+        pending = 0;
+        commitCount++;
+    }
+
+    /**
+     * Find the end of the last complete line (the byte after its '\n')
+     * @param channel Journal file channel
+     * @return File length up to and including the last newline (0 if there is none)
+     * @throws IOException If reading fails
+     */
+    private static long endOfLastLine(FileChannel channel) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(8 * 1024);
+        long end = channel.size();
+        while (end > 0) {
+            long start = Math.max(0, end - chunk.capacity());
+            chunk.clear().limit((int) (end - start));
+            while (chunk.hasRemaining()) {
+                if (channel.read(chunk, start + chunk.position()) < 0) {
+                    throw new EOFException("Journal shrank while it was opened");
+                }
+            }
+            for (int i = chunk.position() - 1; i >= 0; i--) {
+                if (chunk.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return 0;
+    }
+
+    /**
+     * Record the first I/O error and close the journal (records after the last commit are lost)
+     * @param error Error raised while appending or flushing
+     */
+    private void fail(IOException error) {
+        lastError = error;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            error.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Get number of records journaled
+     * @return recordCount (long)
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Get number of disk flushes performed
+     * @return commitCount (long)
+     */
+    public long getCommitCount() {
+        return commitCount;
+    }
+
+    /**
+     * Get the I/O error that closed the journal (it is never cleared: the journal stays closed)
+     * @return First error (null if none)
+     */
+    public IOException getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Commit pending records and close the file
+     * @throws IOException If flushing or closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (lastError != null) {
+            return; // Already closed by the error
+        }
+        try {
+            commit();
+        } finally {
+            writer.close();
+        }
+    }
+}
\ No newline at end of file
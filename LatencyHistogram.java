@@ -0,0 +1,112 @@
+import java.util.Arrays;
+
+/**
+ * Fixed-memory log-bucketed histogram of non-negative long values (e.g., wait times in nanoseconds)
+ * Values below 16 get exact buckets; larger values are grouped per power of two into 16 sub-buckets,
+ * so every recorded value is kept within 1/16 (6.25%) of its true value
+ * All buckets are allocated up front (960 counters, ~7.5 KB): record() never allocates
+ * Single writer: record from one thread (the ride operator); reads from other threads may be slightly stale
+ */
+public class LatencyHistogram {
+    // Sub-buckets per power of two (2^SUB_BITS)
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    // Enough buckets for any non-negative long
+    private static final int BUCKET_COUNT = (64 - SUB_BITS) * SUB_COUNT;
+
+    // Count per bucket
+    private final long[] counts = new long[BUCKET_COUNT];
+    // Number of recorded values
+    private long totalCount;
+    // Largest recorded value (exact)
+    private long max;
+
+    /**
+     * Record one value (negative values are recorded as 0)
+     * @param value Value to record
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[bucketOf(value)]++;
+        totalCount++;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Get bucket index for a value
+     * @param value Non-negative value
+     * @return Bucket index
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    /**
+     * Get the highest value that falls into a bucket
+     * @param bucket Bucket index
+     * @return Upper bound (inclusive) of the bucket
+     */
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_COUNT) {
+            return bucket;
+        }
+        int shift = bucket / SUB_COUNT - 1;
+        long lower = (long) (SUB_COUNT + bucket % SUB_COUNT) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * Get the value at a percentile (upper bound of the bucket holding it, never above the exact max)
+     * @param percentile Percentile in 0..100 (e.g., 99 for p99)
+     * @return Value at the percentile, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double clamped = Math.min(100, Math.max(0, percentile));
+        long rank = Math.max(1, (long) Math.ceil(clamped / 100 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Get number of recorded values
+     * @return totalCount (long)
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Get largest recorded value
+     * @return max (long, 0 if nothing was recorded)
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Clear all counts (keeps the bucket array)
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        max = 0;
+    }
+}
\ No newline at end of file
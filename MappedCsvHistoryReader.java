@@ -0,0 +1,250 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Memory-mapped CSV history reader (fast path for Assessment Part7 imports)
+ * Maps the file with NIO in large windows and scans bytes directly: no BufferedReader, no per-line String,
+ * no String.split, and age is parsed from bytes. Strings are created only for the four fields a Visitor keeps.
+ * Accepts exactly the rows Visitor.fromCsvString accepts (ASCII digits for age); rejected rows are counted, not thrown
+ * Lines longer than one mapping window (64 MB) are counted as malformed
+ */
+public class MappedCsvHistoryReader {
+    // Bytes mapped per window (files larger than this are mapped window by window)
+    private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+    // Expected first field of every record
+    private static final byte[] TYPE_VISITOR = "Visitor".getBytes(StandardCharsets.US_ASCII);
+
+    // Reusable copy of the current line (grows to the longest line seen)
+    private byte[] line = new byte[256];
+    // Field boundaries of the current line: start/end offsets into line
+    private final int[] fieldStart = new int[6];
+    private final int[] fieldEnd = new int[6];
+
+    /**
+     * Read every record of a CSV history file (first line is the header and is skipped)
+     * @param path CSV file (same format as Ride.exportRideHistory)
+     * @param sink Receives each parsed Visitor in file order
+     * @return Counts of imported and rejected rows
+     * @throws IOException If the file cannot be opened or mapped
+     */
+    public CsvImportStats read(Path path, Consumer<Visitor> sink) throws IOException {
+        long startNanos = System.nanoTime();
+        int imported = 0;
+        int malformed = 0;
+        boolean headerPending = true;
+        boolean skippingLongLine = false;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            long position = 0;
+            while (position < fileSize) {
+                int windowSize = (int) Math.min(WINDOW_SIZE, fileSize - position);
+                boolean lastWindow = position + windowSize == fileSize;
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+                int lineStart = 0;
+                while (lineStart < windowSize) {
+                    int lineEnd = indexOfNewline(window, lineStart, windowSize);
+                    if (lineEnd < 0) {
+                        if (!lastWindow) {
+                            break; // Line continues in the next window: remap from its start
+                        }
+                        lineEnd = windowSize;
+                    }
+                    if (skippingLongLine) {
+                        skippingLongLine = false; // Tail of a line longer than a whole window
+                    } else if (headerPending) {
+                        headerPending = false;
+                    } else {
+                        int result = parseLine(window, lineStart, lineEnd, sink);
+                        if (result > 0) {
+                            imported++;
+                        } else if (result < 0) {
+                            malformed++;
+                        }
+                    }
+                    lineStart = lineEnd + 1;
+                }
+                if (lineStart == 0) {
+                    // A single line fills the whole window: reject it and skip to its end
+                    if (!skippingLongLine && !headerPending) {
+                        malformed++;
+                    }
+                    headerPending = false;
+                    skippingLongLine = true;
+                    lineStart = windowSize;
+                }
+                position += Math.min(lineStart, windowSize);
+            }
+            return new CsvImportStats(imported, malformed, fileSize, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Parse CSV text that is already in memory (e.g., one decompressed chunk of ParallelGzipHistoryCodec)
+     * Same row rules as read(); the text must end on a line boundary (a missing final newline is fine)
+     * @param text Bytes from position to limit (position is not moved)
+     * @param skipHeader true = the first line is the header and is skipped
+     * @param sink Receives each parsed Visitor in text order
+     * @return Counts of imported and rejected rows (bytes = text length)
+     */
+    CsvImportStats parse(ByteBuffer text, boolean skipHeader, Consumer<Visitor> sink) {
+        long startNanos = System.nanoTime();
+        int imported = 0;
+        int malformed = 0;
+        int limit = text.limit();
+        int lineStart = text.position();
+        boolean headerPending = skipHeader;
+        while (lineStart < limit) {
+            int lineEnd = indexOfNewline(text, lineStart, limit);
+            if (lineEnd < 0) {
+                lineEnd = limit;
+            }
+            if (headerPending) {
+                headerPending = false;
+            } else {
+                int result = parseLine(text, lineStart, lineEnd, sink);
+                if (result > 0) {
+                    imported++;
+                } else if (result < 0) {
+                    malformed++;
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return new CsvImportStats(imported, malformed, limit - text.position(), System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Find the next '\n' in a window
+     * @param window Mapped (or in-memory) bytes
+     * @param from First index to check
+     * @param limit End of window (exclusive)
+     * @return Index of the newline, or -1 if none
+     */
+    private static int indexOfNewline(ByteBuffer window, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (window.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parse one line (trimmed like String.trim; fields split like String.split(",") with trailing empties dropped)
+     * @param window Mapped (or in-memory) bytes
+     * @param start Line start (inclusive)
+     * @param end Line end (exclusive, newline not included)
+     * @param sink Receives the Visitor if the row is valid
+     * @return 1 = imported, 0 = blank line, -1 = malformed
+     */
+    private int parseLine(ByteBuffer window, int start, int end, Consumer<Visitor> sink) {
+        while (start < end && (window.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (window.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return 0;
+        }
+        int length = end - start;
+        if (line.length < length) {
+            line = new byte[Math.max(length, line.length * 2)];
+        }
+        window.get(start, line, 0, length);
+
+        // String.split drops trailing empty fields, so trailing commas do not count
+        while (length > 0 && line[length - 1] == ',') {
+            length--;
+        }
+        int fields = 0;
+        int fieldFrom = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i == length || line[i] == ',') {
+                if (fields == fieldStart.length) {
+                    return -1; // More than 6 columns
+                }
+                fieldStart[fields] = fieldFrom;
+                fieldEnd[fields] = i;
+                fields++;
+                fieldFrom = i + 1;
+            }
+        }
+        if (fields != fieldStart.length || !fieldEquals(0, TYPE_VISITOR)) {
+            return -1;
+        }
+        long age = parseInt(fieldStart[3], fieldEnd[3]);
+        if (age == Long.MIN_VALUE) {
+            return -1;
+        }
+        sink.accept(new Visitor(field(1), field(2), (int) age, field(4), field(5)));
+        return 1;
+    }
+
+    /**
+     * Compare a field with expected bytes
+     * @param index Field index
+     * @param expected Expected bytes
+     * @return true = identical
+     */
+    private boolean fieldEquals(int index, byte[] expected) {
+        int from = fieldStart[index];
+        if (fieldEnd[index] - from != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (line[from + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parse a decimal int from the line without creating a String (same rules as Integer.parseInt for ASCII)
+     * @param from Field start
+     * @param to Field end
+     * @return Parsed value, or Long.MIN_VALUE if the field is not a valid int
+     */
+    private long parseInt(int from, int to) {
+        if (from == to) {
+            return Long.MIN_VALUE;
+        }
+        boolean negative = false;
+        if (line[from] == '-' || line[from] == '+') {
+            negative = line[from] == '-';
+            from++;
+            if (from == to) {
+                return Long.MIN_VALUE;
+            }
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = line[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return Long.MIN_VALUE; // Overflow
+            }
+        }
+        value = negative ? -value : value;
+        return (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) ? Long.MIN_VALUE : value;
+    }
+
+    /**
+     * Materialise one field as a String
+     * @param index Field index
+     * @return Field text (UTF-8)
+     */
+    private String field(int index) {
+        return new String(line, fieldStart[index], fieldEnd[index] - fieldStart[index], StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
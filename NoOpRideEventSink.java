@@ -0,0 +1,25 @@
+/**
+ * Event sink that discards everything (disabled sink: Ride creates no events at all)
+ */
+public class NoOpRideEventSink implements RideEventSink {
+    // Shared instance (the sink is stateless)
+    public static final NoOpRideEventSink INSTANCE = new NoOpRideEventSink();
+
+    /**
+     * Always disabled, so Ride never builds events for this sink
+     * @return false
+     */
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * Discard the event
+     * @param event Ignored
+     */
+    @Override
+    public void publish(RideEvent event) {
+        // Intentionally empty
+    }
+}
\ No newline at end of file
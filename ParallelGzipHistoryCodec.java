@@ -0,0 +1,438 @@
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Parallel compressed CSV history export/import (gzip counterpart of Ride.exportRideHistory / importRideHistoryMapped)
+ * The history is cut into chunks of whole lines; each chunk is compressed on its own as a complete gzip member,
+ * and the members are written one after another. A multi-member file is plain gzip (RFC 1952), so
+ * gzip -dc / zcat read it back as the normal CSV text (header first, UTF-8)
+ * Every member carries an "RH" extra subfield with its total size (like BGZF), so the importer can find all
+ * member boundaries from the headers alone and inflate and parse the chunks in parallel
+ * Files without that field (e.g., made by gzip itself) are read sequentially with GZIPInputStream
+ */
+public class ParallelGzipHistoryCodec {
+    // CSV header (same as Ride.exportRideHistory)
+    private static final byte[] HEADER = "Type,PersonId,Name,Age,VisitorId,MembershipType\n".getBytes(StandardCharsets.UTF_8);
+    // Records per chunk (about 1-2 MB of CSV text, so chunks are large enough to compress well)
+    private static final int CHUNK_RECORDS = 32 * 1024;
+    // Member header: 10 fixed bytes + XLEN (2) + subfield id (2) + subfield length (2) + member size (4)
+    private static final int MEMBER_HEADER_SIZE = 20;
+    // Member trailer: CRC32 + ISIZE
+    private static final int MEMBER_TRAILER_SIZE = 8;
+    // Extra subfield id holding the member size
+    private static final byte SUBFIELD_ID1 = 'R';
+    private static final byte SUBFIELD_ID2 = 'H';
+    // Bytes read per step by the sequential fallback
+    private static final int FALLBACK_BLOCK_SIZE = 4 * 1024 * 1024;
+    // Largest member, and largest inflated chunk, accepted by the parallel import (write() makes a few MB each),
+    // so a corrupted size field cannot make a worker allocate gigabytes
+    private static final int MAX_MEMBER_BYTES = 64 * 1024 * 1024;
+    // Deflate never expands data by more than about 1032:1, so a larger claimed ratio means a corrupted ISIZE
+    private static final int MAX_DEFLATE_RATIO = 1032;
+
+    // Pool that compresses and decompresses chunks (common pool unless supplied)
+    private final ForkJoinPool pool;
+    // Deflate level (Deflater.DEFAULT_COMPRESSION .. BEST_COMPRESSION)
+    private final int level;
+
+    /**
+     * Default constructor (common fork/join pool, default compression level)
+     */
+    public ParallelGzipHistoryCodec() {
+        this(ForkJoinPool.commonPool(), Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Parameterized constructor
+     * @param pool Fork/join pool used for compression and decompression
+     * @param level Deflate level (-1 = default, 1 = fastest, 9 = smallest)
+     */
+    public ParallelGzipHistoryCodec(ForkJoinPool pool, int level) {
+        this.pool = pool;
+        this.level = level;
+    }
+
+    /**
+     * Write records as a multi-member gzip CSV file
+     * Chunks are compressed concurrently; at most two per pool worker are held in memory, and they are written in
+     * record order as they finish, so the file is the same on every run regardless of thread timing
+     * @param records Records to export (not modified)
+     * @param path Destination file (created or truncated)
+     * @return Records and compressed bytes written, and duration
+     * @throws IOException If the file cannot be written
+     */
+    public CsvExportStats write(Visitor[] records, Path path) throws IOException {
+        long startNanos = System.nanoTime();
+        int chunks = Math.max(1, (records.length + CHUNK_RECORDS - 1) / CHUNK_RECORDS);
+        int window = Math.max(2, pool.getParallelism() * 2);
+        ArrayDeque<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+        long bytes = 0;
+        try (OutputStream out = Files.newOutputStream(path)) {
+            int next = 0;
+            while (next < chunks || !pending.isEmpty()) {
+                while (next < chunks && pending.size() < window) {
+                    int chunk = next++;
+                    pending.add(CompletableFuture.supplyAsync(() -> compressChunk(records, chunk), pool));
+                }
+                byte[] member = join(pending.poll());
+                out.write(member);
+                bytes += member.length;
+            }
+        } finally {
+            for (CompletableFuture<byte[]> future : pending) {
+                future.cancel(false); // Error path: drop chunks not written yet
+            }
+        }
+        return new CsvExportStats(records.length, bytes, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Read a gzip CSV history file (parallel if every member carries its size, sequential otherwise)
+     * @param path Gzip file (e.g., written by write() or by gzip)
+     * @param sink Receives each parsed Visitor in file order (called on the calling thread)
+     * @return Counts of imported and rejected rows (bytes = compressed file size)
+     * @throws IOException If the file cannot be read or is not valid gzip
+     */
+    public CsvImportStats read(Path path, Consumer<Visitor> sink) throws IOException {
+        long startNanos = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] members = scanMembers(channel);
+            CsvImportStats stats = members == null
+                    ? readSequential(path, sink)
+                    : readParallel(channel, members, sink);
+            return new CsvImportStats(stats.getImported(), stats.getMalformed(), channel.size(),
+                    System.nanoTime() - startNanos);
+        }
+    }
+
+    // ------------------------------ Export ------------------------------
+
+    /**
+     * Encode one chunk as CSV and compress it into a complete gzip member (runs on a pool worker)
+     * @param records All records
+     * @param chunk Chunk number (the first chunk also holds the header)
+     * @return Member bytes (header, deflate data, trailer)
+     */
+    private byte[] compressChunk(Visitor[] records, int chunk) {
+        int from = chunk * CHUNK_RECORDS;
+        int to = Math.min(records.length, from + CHUNK_RECORDS);
+        BinaryHistoryWriter.GrowableBytes text = new BinaryHistoryWriter.GrowableBytes(64 * (to - from) + HEADER.length);
+        if (chunk == 0) {
+            text.write(HEADER, 0, HEADER.length);
+        }
+        for (int i = from; i < to; i++) {
+            byte[] line = (records[i].toCsvString() + "\n").getBytes(StandardCharsets.UTF_8);
+            text.write(line, 0, line.length);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(text.array(), 0, text.size());
+        byte[] member = new byte[MEMBER_HEADER_SIZE + text.size() / 3 + 64];
+        int size = MEMBER_HEADER_SIZE;
+        Deflater deflater = new Deflater(level, true); // Raw deflate: header and trailer are written here
+        try {
+            deflater.setInput(text.array(), 0, text.size());
+            deflater.finish();
+            while (!deflater.finished()) {
+                if (size == member.length) {
+                    member = Arrays.copyOf(member, member.length * 2);
+                }
+                size += deflater.deflate(member, size, member.length - size);
+            }
+        } finally {
+            deflater.end();
+        }
+        member = Arrays.copyOf(member, size + MEMBER_TRAILER_SIZE);
+        int memberSize = member.length;
+        byte[] header = {
+                0x1f, (byte) 0x8b, 8, 0x04, // Magic, deflate, FEXTRA
+                0, 0, 0, 0, 0, (byte) 255,  // No mtime, no extra flags, unknown OS
+                4 + 4, 0,                   // XLEN: one subfield (id, length) + 4-byte member size
+                SUBFIELD_ID1, SUBFIELD_ID2, 4, 0,
+                (byte) memberSize, (byte) (memberSize >>> 8), (byte) (memberSize >>> 16), (byte) (memberSize >>> 24)
+        };
+        System.arraycopy(header, 0, member, 0, MEMBER_HEADER_SIZE);
+        putIntLE(member, size, (int) crc.getValue());
+        putIntLE(member, size + 4, text.size());
+        return member;
+    }
+
+    // ------------------------------ Import ------------------------------
+
+    /**
+     * Find every member from the size fields in the headers (no decompression)
+     * @param channel Open file
+     * @return Offsets of the members followed by the file size, or null if any member lacks the size field
+     * @throws IOException If the file cannot be read
+     */
+    private static long[] scanMembers(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        long[] offsets = new long[16];
+        int count = 0;
+        ByteBuffer header = ByteBuffer.allocate(MEMBER_HEADER_SIZE);
+        long position = 0;
+        while (position < fileSize) {
+            header.clear();
+            if (fileSize - position < MEMBER_HEADER_SIZE + MEMBER_TRAILER_SIZE) {
+                return null;
+            }
+            readFully(channel, header, position);
+            byte[] h = header.array();
+            if ((h[0] & 0xFF) != 0x1f || (h[1] & 0xFF) != 0x8b || h[2] != 8 || h[3] != 0x04
+                    || h[10] != 4 + 4 || h[11] != 0 || h[12] != SUBFIELD_ID1 || h[13] != SUBFIELD_ID2
+                    || h[14] != 4 || h[15] != 0) {
+                return null; // Not written by write(): read the whole file sequentially
+            }
+            long memberSize = getIntLE(h, 16) & 0xFFFFFFFFL;
+            if (memberSize < MEMBER_HEADER_SIZE + MEMBER_TRAILER_SIZE || position + memberSize > fileSize
+                    || memberSize > MAX_MEMBER_BYTES) {
+                throw new IOException("Corrupted gzip member at offset " + position + " (size " + memberSize + ")");
+            }
+            if (count + 1 == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[count++] = position;
+            position += memberSize;
+        }
+        if (count == 0) {
+            throw new EOFException("Empty gzip file");
+        }
+        offsets[count] = fileSize;
+        return Arrays.copyOf(offsets, count + 1);
+    }
+
+    /**
+     * Inflate and parse members concurrently, then hand the records to the sink in member order
+     * Like the exporter, at most two members per pool worker are in memory at once
+     * @param channel Open file (read with positional reads, safe across threads)
+     * @param offsets Member offsets followed by the file size
+     * @param sink Receives the records
+     * @return Counts of imported and rejected rows
+     * @throws IOException If a member is corrupted or cannot be read
+     */
+    private CsvImportStats readParallel(FileChannel channel, long[] offsets, Consumer<Visitor> sink) throws IOException {
+        int members = offsets.length - 1;
+        int window = Math.max(2, pool.getParallelism() * 2);
+        ArrayDeque<CompletableFuture<ParsedChunk>> pending = new ArrayDeque<>();
+        int imported = 0;
+        int malformed = 0;
+        try {
+            int next = 0;
+            while (next < members || !pending.isEmpty()) {
+                while (next < members && pending.size() < window) {
+                    int member = next++;
+                    pending.add(CompletableFuture.supplyAsync(
+                            () -> inflateChunk(channel, offsets[member], offsets[member + 1], member == 0), pool));
+                }
+                ParsedChunk chunk = join(pending.poll());
+                chunk.records.forEach(sink);
+                imported += chunk.stats.getImported();
+                malformed += chunk.stats.getMalformed();
+            }
+        } finally {
+            for (CompletableFuture<ParsedChunk> future : pending) {
+                future.cancel(false);
+            }
+        }
+        return new CsvImportStats(imported, malformed, offsets[members], 0);
+    }
+
+    /**
+     * Read, inflate, check and parse one member (runs on a pool worker)
+     * @param channel Open file
+     * @param from Member start offset
+     * @param to Member end offset (exclusive)
+     * @param first true = first member (its first line is the header)
+     * @return Parsed records and counters
+     */
+    private static ParsedChunk inflateChunk(FileChannel channel, long from, long to, boolean first) {
+        try {
+            byte[] member = new byte[(int) (to - from)];
+            readFully(channel, ByteBuffer.wrap(member), from);
+            int dataEnd = member.length - MEMBER_TRAILER_SIZE;
+            int expectedCrc = getIntLE(member, dataEnd);
+            int textSize = getIntLE(member, dataEnd + 4);
+            long compressedSize = dataEnd - MEMBER_HEADER_SIZE;
+            if (textSize < 0 || textSize > MAX_MEMBER_BYTES || textSize > compressedSize * MAX_DEFLATE_RATIO) {
+                throw new IOException("Gzip member at offset " + from + " claims " + (textSize & 0xFFFFFFFFL)
+                        + " bytes of text from " + compressedSize + " compressed bytes");
+            }
+            byte[] text = new byte[textSize + 1]; // One spare byte shows data longer than ISIZE
+            int size = 0;
+            Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(member, MEMBER_HEADER_SIZE, dataEnd - MEMBER_HEADER_SIZE);
+                while (!inflater.finished() && size < text.length) {
+                    int n = inflater.inflate(text, size, text.length - size);
+                    if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    size += n;
+                }
+                if (!inflater.finished() || size != textSize) {
+                    throw new IOException("Gzip member at offset " + from + " has the wrong length");
+                }
+            } finally {
+                inflater.end();
+            }
+            CRC32 crc = new CRC32();
+            crc.update(text, 0, textSize);
+            if ((int) crc.getValue() != expectedCrc) {
+                throw new IOException("CRC mismatch in gzip member at offset " + from);
+            }
+            List<Visitor> records = new ArrayList<>(textSize / 40 + 1);
+            CsvImportStats stats = new MappedCsvHistoryReader().parse(ByteBuffer.wrap(text, 0, textSize), first,
+                    records::add);
+            return new ParsedChunk(records, stats);
+        } catch (DataFormatException e) {
+            throw new CompletionException(new IOException("Corrupted gzip member at offset " + from, e));
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Sequential fallback for ordinary gzip files: inflate in large blocks cut at the last newline and parse them
+     * @param path Gzip file
+     * @param sink Receives the records
+     * @return Counts of imported and rejected rows
+     * @throws IOException If the file cannot be read or is not valid gzip
+     */
+    private static CsvImportStats readSequential(Path path, Consumer<Visitor> sink) throws IOException {
+        MappedCsvHistoryReader parser = new MappedCsvHistoryReader();
+        int imported = 0;
+        int malformed = 0;
+        boolean headerPending = true;
+        byte[] block = new byte[FALLBACK_BLOCK_SIZE];
+        int filled = 0;
+        try (InputStream in = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(path)), 64 * 1024)) {
+            while (true) {
+                if (filled == block.length) {
+                    block = Arrays.copyOf(block, block.length * 2); // A single line longer than the block
+                }
+                int n = in.read(block, filled, block.length - filled);
+                boolean eof = n < 0;
+                filled += eof ? 0 : n;
+                int end = eof ? filled : lastNewline(block, filled) + 1;
+                if (end > 0) {
+                    CsvImportStats stats = parser.parse(ByteBuffer.wrap(block, 0, end), headerPending, sink);
+                    imported += stats.getImported();
+                    malformed += stats.getMalformed();
+                    headerPending = false;
+                    System.arraycopy(block, end, block, 0, filled - end);
+                    filled -= end;
+                }
+                if (eof) {
+                    break;
+                }
+            }
+        }
+        return new CsvImportStats(imported, malformed, Files.size(path), 0);
+    }
+
+    // ------------------------------ Helpers ------------------------------
+
+    /**
+     * Wait for a chunk task, reporting any failure of the task as an IOException
+     * (runtime exceptions from a worker would otherwise escape the export/import methods; errors still propagate)
+     * @param future Chunk task
+     * @return Task result
+     * @throws IOException If the task failed or was cancelled
+     */
+    private static <T> T join(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException("Gzip chunk task failed: " + cause, cause);
+        } catch (CancellationException e) {
+            throw new IOException("Gzip chunk task was cancelled", e);
+        }
+    }
+
+    /**
+     * Positional read of a whole buffer
+     * @param channel Open file
+     * @param buffer Buffer to fill
+     * @param position File offset
+     * @throws IOException If the file ends first
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position);
+            if (n < 0) {
+                throw new EOFException("Truncated gzip file");
+            }
+            position += n;
+        }
+    }
+
+    /**
+     * Find the last '\n' in the first length bytes
+     * @param bytes Buffer
+     * @param length Bytes in use
+     * @return Index of the newline, or -1 if none
+     */
+    private static int lastNewline(byte[] bytes, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void putIntLE(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) value;
+        bytes[offset + 1] = (byte) (value >>> 8);
+        bytes[offset + 2] = (byte) (value >>> 16);
+        bytes[offset + 3] = (byte) (value >>> 24);
+    }
+
+    private static int getIntLE(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8
+                | (bytes[offset + 2] & 0xFF) << 16 | (bytes[offset + 3] & 0xFF) << 24;
+    }
+
+    /**
+     * Records and counters of one decompressed member
+     */
+    private static final class ParsedChunk {
+        private final List<Visitor> records;
+        private final CsvImportStats stats;
+
+        ParsedChunk(List<Visitor> records, CsvImportStats stats) {
+            this.records = records;
+            this.stats = stats;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,140 @@
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Parallel multi-file history import (restores many per-ride/per-day CSV files at once, extends Assessment Part7)
+ * Files are parsed concurrently on a fork/join pool with MappedCsvHistoryReader, then merged into each Ride
+ * sequentially in file-name order, so the resulting histories are the same on every run regardless of thread timing
+ */
+public class ParallelHistoryImporter {
+    // Pool that parses files (common pool unless supplied)
+    private final ForkJoinPool pool;
+
+    /**
+     * Default constructor (uses the common fork/join pool: one worker per core)
+     */
+    public ParallelHistoryImporter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parameterized constructor
+     * @param pool Fork/join pool used to parse files
+     */
+    public ParallelHistoryImporter(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Import every matching file in a directory into one ride
+     * @param directory Directory holding the CSV files
+     * @param glob File name pattern (e.g., "carousel_*.csv")
+     * @param ride Ride receiving all records
+     * @return Per-file counts/timings and total wall time
+     * @throws IOException If the directory cannot be listed
+     */
+    public ParallelImportReport importDirectory(Path directory, String glob, Ride ride) throws IOException {
+        return importDirectory(directory, glob, path -> ride);
+    }
+
+    /**
+     * Import every matching file in a directory, routing each file to a ride
+     * @param directory Directory holding the CSV files
+     * @param glob File name pattern (e.g., "*.csv")
+     * @param router Picks the ride for a file (null = skip the file)
+     * @return Per-file counts/timings and total wall time
+     * @throws IOException If the directory cannot be listed
+     */
+    public ParallelImportReport importDirectory(Path directory, String glob, Function<Path, Ride> router) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+            for (Path path : stream) {
+                if (Files.isRegularFile(path)) {
+                    files.add(path);
+                }
+            }
+        }
+        Collections.sort(files); // Deterministic merge order
+        return importFiles(files, router);
+    }
+
+    /**
+     * Parse the given files in parallel and merge them into rides in list order
+     * @param files Files to import (merged in this order)
+     * @param router Picks the ride for a file (null = skip the file)
+     * @return Per-file counts/timings and total wall time
+     */
+    public ParallelImportReport importFiles(List<Path> files, Function<Path, Ride> router) {
+        long startNanos = System.nanoTime();
+        Path[] paths = files.toArray(new Path[0]);
+        List<List<Visitor>> records = new ArrayList<>(Collections.nCopies(paths.length, (List<Visitor>) null));
+        CsvImportStats[] stats = new CsvImportStats[paths.length];
+        String[] errors = new String[paths.length];
+        pool.invoke(new ParseTask(paths, 0, paths.length, records, stats, errors));
+
+        // Merge on the calling thread, file by file, so history order is deterministic
+        Map<Path, CsvImportStats> fileStats = new LinkedHashMap<>();
+        Map<Path, String> failures = new LinkedHashMap<>();
+        for (int i = 0; i < paths.length; i++) {
+            if (errors[i] != null) {
+                failures.put(paths[i], errors[i]);
+                continue;
+            }
+            Ride ride = router.apply(paths[i]);
+            if (ride != null) {
+                ride.appendImportedHistory(records.get(i), paths[i].toString());
+            }
+            records.set(i, null); // Release parsed records as soon as they are merged
+            fileStats.put(paths[i], stats[i]);
+        }
+        return new ParallelImportReport(fileStats, failures, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Fork/join task parsing a range of files (splits until one file per task)
+     */
+    private static class ParseTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Path[] paths;
+        private final int from;
+        private final int to;
+        private final List<List<Visitor>> records;
+        private final CsvImportStats[] stats;
+        private final String[] errors;
+
+        ParseTask(Path[] paths, int from, int to, List<List<Visitor>> records, CsvImportStats[] stats, String[] errors) {
+            this.paths = paths;
+            this.from = from;
+            this.to = to;
+            this.records = records;
+            this.stats = stats;
+            this.errors = errors;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ParseTask(paths, from, mid, records, stats, errors),
+                        new ParseTask(paths, mid, to, records, stats, errors));
+                return;
+            }
+            if (from == to) {
+                return;
+            }
+            List<Visitor> parsed = new ArrayList<>();
+            try {
+                stats[from] = new MappedCsvHistoryReader().read(paths[from], parsed::add);
+                records.set(from, parsed);
+            } catch (IOException e) {
+                errors[from] = e.getMessage();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Result of a parallel multi-file import (returned by ParallelHistoryImporter)
+ * Per-file record counts and parse times, plus total wall time to show the speedup across cores
+ */
+public class ParallelImportReport {
+    // Per-file counters and parse time, in merge order
+    private final Map<Path, CsvImportStats> fileStats;
+    // Files that could not be read → error message
+    private final Map<Path, String> failures;
+    // Wall time of the whole import including merge (nanoseconds)
+    private final long wallNanos;
+
+    /**
+     * Parameterized constructor
+     * @param fileStats Per-file counters, in merge order
+     * @param failures Unreadable files with their error messages
+     * @param wallNanos Total wall time in nanoseconds
+     */
+    public ParallelImportReport(Map<Path, CsvImportStats> fileStats, Map<Path, String> failures, long wallNanos) {
+        this.fileStats = Collections.unmodifiableMap(fileStats);
+        this.failures = Collections.unmodifiableMap(failures);
+        this.wallNanos = wallNanos;
+    }
+
+    /**
+     * Get per-file counters and parse times
+     * @return Path → CsvImportStats (merge order)
+     */
+    public Map<Path, CsvImportStats> getFileStats() {
+        return fileStats;
+    }
+
+    /**
+     * Get files that failed to import
+     * @return Path → error message
+     */
+    public Map<Path, String> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Get total wall time
+     * @return wallNanos (long, nanoseconds)
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * Get total records imported across all files
+     * @return Record count (long)
+     */
+    public long getTotalImported() {
+        long total = 0;
+        for (CsvImportStats stats : fileStats.values()) {
+            total += stats.getImported();
+        }
+        return total;
+    }
+
+    /**
+     * Get summed per-file parse time divided by wall time (≈ effective cores used)
+     * @return Speedup factor (double, 0 if nothing was imported)
+     */
+    public double getSpeedup() {
+        long parseNanos = 0;
+        for (CsvImportStats stats : fileStats.values()) {
+            parseNanos += stats.getElapsedNanos();
+        }
+        return wallNanos == 0 ? 0 : (double) parseNanos / wallNanos;
+    }
+
+    /**
+     * Override toString for a one-line summary
+     * @return Summary as String
+     */
+    @Override
+    public String toString() {
+        return "ParallelImportReport{files=" + fileStats.size() + ", failures=" + failures.size()
+                + ", records=" + getTotalImported() + ", wallMs=" + (wallNanos / 1_000_000)
+                + ", speedup=" + String.format("%.2f", getSpeedup()) + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,262 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Park-level inverted index: visitorId → rides taken (with ride counts), across every registered Ride
+ * Answers "which attractions did visitor VIS123 ride" with one hash lookup instead of checking each ride's history
+ * Kept up to date incrementally as a RideHistoryListener (cycles, bulk runs, imports)
+ * Per visitor the rides are a compact sorted int array of (rideId, count) pairs instead of a Set of objects
+ * The array is copy-on-write: every recorded ride allocates a new array of 1 + 2 × (rides of that visitor) ints and
+ * copies the old one, so an append costs O(rides of the visitor) time plus one short-lived allocation. That is cheap
+ * while a visitor rides a few dozen attractions, but a bulk run still allocates one array per record
+ * Thread-safe: rides may append from different threads; lookups never block appends
+ */
+public class ParkRideIndex implements RideHistoryListener {
+    // Rides by rideId (rideId = position)
+    private final List<Ride> rides;
+    // Ride → rideId (identity: Ride does not override equals); an id stays assigned after unregister
+    private final Map<Ride, Integer> rideIds;
+    // Rides currently followed as a history listener
+    private final Set<Ride> registered;
+    // visitorId → [pairCount, rideId0, count0, rideId1, count1, ...] sorted by rideId (replaced on every update)
+    private final ConcurrentHashMap<String, int[]> visitorRides;
+
+    /**
+     * Default constructor (creates an empty index)
+     */
+    public ParkRideIndex() {
+        this.rides = new CopyOnWriteArrayList<>();
+        this.rideIds = Collections.synchronizedMap(new IdentityHashMap<>());
+        this.registered = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        this.visitorRides = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Start indexing a ride: its existing history is indexed now and later appends incrementally
+     * Registering a ride that is already registered has no effect; registering it again after unregister
+     * replaces its counts with its current history (one pass over the whole index)
+     * @param ride Ride to index
+     */
+    public void register(Ride ride) {
+        if (ride == null || !registered.add(ride)) {
+            return;
+        }
+        boolean seenBefore = rideIds.containsKey(ride);
+        int rideId = rideIdOf(ride);
+        if (seenBefore) {
+            forget(rideId); // Counts from the earlier registration; the history below is indexed again
+        }
+        for (Visitor visitor : ride.historyView()) {
+            record(visitor, rideId);
+        }
+        ride.addHistoryListener(this);
+    }
+
+    /**
+     * Stop indexing a ride (rides already recorded stay in the index until the ride is registered again)
+     * @param ride Ride to stop following
+     */
+    public void unregister(Ride ride) {
+        if (ride != null && registered.remove(ride)) {
+            ride.removeHistoryListener(this);
+        }
+    }
+
+    @Override
+    public void onVisitorAdded(Ride ride, Visitor visitor) {
+        record(visitor, rideIdOf(ride));
+    }
+
+    @Override
+    public void onVisitorsAdded(Ride ride, List<Visitor> visitors) {
+        int rideId = rideIdOf(ride); // One ride lookup per batch
+        for (int i = 0; i < visitors.size(); i++) {
+            record(visitors.get(i), rideId);
+        }
+    }
+
+    /**
+     * Get the rideId of a ride, assigning the next free one on first sight
+     * @param ride Ride
+     * @return rideId (int)
+     */
+    private int rideIdOf(Ride ride) {
+        synchronized (rideIds) {
+            Integer id = rideIds.get(ride);
+            if (id == null) {
+                id = rides.size();
+                rides.add(ride);
+                rideIds.put(ride, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Count one ride for a visitor (atomic per visitorId)
+     * @param visitor Rider (ignored if null or without visitorId)
+     * @param rideId Ride taken
+     */
+    private void record(Visitor visitor, int rideId) {
+        if (visitor == null || visitor.getVisitorId() == null) {
+            return;
+        }
+        visitorRides.compute(visitor.getVisitorId(), (id, pairs) -> increment(pairs, rideId));
+    }
+
+    /**
+     * Remove one ride's counts from every visitor (visitors left without rides are dropped)
+     * @param rideId Ride to forget
+     */
+    private void forget(int rideId) {
+        for (String visitorId : visitorRides.keySet()) {
+            visitorRides.computeIfPresent(visitorId, (id, pairs) -> without(pairs, rideId));
+        }
+    }
+
+    /**
+     * Copy of a pair array without rideId's pair
+     * @param pairs Current array
+     * @param rideId Ride to remove
+     * @return Updated array (the same array if rideId is absent; null if no rides are left)
+     */
+    private static int[] without(int[] pairs, int rideId) {
+        int position = find(pairs, rideId);
+        if (position < 0) {
+            return pairs;
+        }
+        int size = pairs[0];
+        if (size == 1) {
+            return null;
+        }
+        int[] updated = new int[1 + (size - 1) * 2];
+        updated[0] = size - 1;
+        System.arraycopy(pairs, 1, updated, 1, position * 2);
+        System.arraycopy(pairs, 3 + position * 2, updated, 1 + position * 2, (size - position - 1) * 2);
+        return updated;
+    }
+
+    /**
+     * Copy of a pair array with one more ride for rideId (keeps pairs sorted by rideId)
+     * Copy-on-write so lookups can read an array without locking
+     * @param pairs Current array (null = no rides yet)
+     * @param rideId Ride taken
+     * @return Updated array
+     */
+    private static int[] increment(int[] pairs, int rideId) {
+        if (pairs == null) {
+            return new int[]{1, rideId, 1};
+        }
+        int size = pairs[0];
+        int position = find(pairs, rideId);
+        if (position >= 0) {
+            int[] updated = pairs.clone();
+            updated[2 + position * 2]++;
+            return updated;
+        }
+        int insertAt = -position - 1;
+        int[] updated = new int[1 + (size + 1) * 2];
+        updated[0] = size + 1;
+        System.arraycopy(pairs, 1, updated, 1, insertAt * 2);
+        updated[1 + insertAt * 2] = rideId;
+        updated[2 + insertAt * 2] = 1;
+        System.arraycopy(pairs, 1 + insertAt * 2, updated, 3 + insertAt * 2, (size - insertAt) * 2);
+        return updated;
+    }
+
+    /**
+     * Binary search for a rideId in a pair array
+     * @param pairs Pair array
+     * @param rideId Ride to find
+     * @return Pair position, or (-(insertion point) - 1) if absent
+     */
+    private static int find(int[] pairs, int rideId) {
+        int low = 0;
+        int high = pairs[0] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = pairs[1 + mid * 2];
+            if (value < rideId) {
+                low = mid + 1;
+            } else if (value > rideId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    // ------------------------------ Queries ------------------------------
+    /**
+     * Get the rides a visitor has been on, with ride counts
+     * @param visitorId Ticketing system ID
+     * @return Ride → times ridden, in registration order (empty if the visitor has not ridden)
+     */
+    public Map<Ride, Integer> ridesOf(String visitorId) {
+        int[] pairs = visitorId == null ? null : visitorRides.get(visitorId);
+        if (pairs == null) {
+            return Collections.emptyMap();
+        }
+        Map<Ride, Integer> result = new LinkedHashMap<>();
+        for (int i = 0; i < pairs[0]; i++) {
+            result.put(rides.get(pairs[1 + i * 2]), pairs[2 + i * 2]);
+        }
+        return result;
+    }
+
+    /**
+     * Get the names of the rides a visitor has been on
+     * @param visitorId Ticketing system ID
+     * @return Ride names in registration order (empty if the visitor has not ridden)
+     */
+    public List<String> rideNamesOf(String visitorId) {
+        List<String> names = new ArrayList<>();
+        for (Ride ride : ridesOf(visitorId).keySet()) {
+            names.add(ride.getRideName());
+        }
+        return names;
+    }
+
+    /**
+     * Get how many times a visitor rode one ride
+     * @param visitorId Ticketing system ID
+     * @param ride Ride
+     * @return Ride count (0 if never ridden or the ride is not indexed)
+     */
+    public int rideCount(String visitorId, Ride ride) {
+        int[] pairs = visitorId == null ? null : visitorRides.get(visitorId);
+        Integer rideId = rideIds.get(ride);
+        if (pairs == null || rideId == null) {
+            return 0;
+        }
+        int position = find(pairs, rideId);
+        return position < 0 ? 0 : pairs[2 + position * 2];
+    }
+
+    /**
+     * Get how many rides a visitor took across the park
+     * @param visitorId Ticketing system ID
+     * @return Total rides (0 if never ridden)
+     */
+    public int totalRides(String visitorId) {
+        int[] pairs = visitorId == null ? null : visitorRides.get(visitorId);
+        if (pairs == null) {
+            return 0;
+        }
+        int total = 0;
+        for (int i = 0; i < pairs[0]; i++) {
+            total += pairs[2 + i * 2];
+        }
+        return total;
+    }
+
+    /**
+     * Get number of distinct visitors who have ridden anything
+     * @return Distinct visitor count (int)
+     */
+    public int distinctVisitors() {
+        return visitorRides.size();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,313 @@
+import java.util.*;
+import java.util.function.LongSupplier;
+
+/**
+ * Park-scale discrete-event simulation (capacity planning for many Rides over a full day)
+ * Virtual clock + event priority queue: visitors arrive by a Poisson process, pick rides by popularity,
+ * join each ride's waitingLine (addVisitorToQueue), and are dispatched by runOneCycle on a fixed cycle schedule;
+ * after riding they walk to their next ride until their ride budget is used up
+ * No real time passes: a full park day runs in seconds of wall time. Dispatches are observed through a
+ * RideHistoryListener attached for the run, so each ride keeps its own event sink (use NoOpRideEventSink to keep a
+ * large run quiet). Each ride's clock is swapped for a virtual one (waits are measured in virtual time) and restored
+ * afterwards; restoring the clock resets the ride's metrics, so read them from the report
+ */
+public class ParkSimulation {
+    // Simulated rides (in the order added)
+    private final List<SimRide> rides = new ArrayList<>();
+    // Random source (fixed seed → repeatable runs)
+    private final Random random;
+    // Visitors arriving during the day
+    private int visitorCount = 10_000;
+    // Park opening time in hours (simulation stops at closing)
+    private double openHours = 12;
+    // Arrivals happen during the first arrivalWindowHours
+    private double arrivalWindowHours = 6;
+    // Mean rides per visitor (geometric, at least 1)
+    private double meanRidesPerVisitor = 6;
+    // Mean walking time between rides in seconds (exponential)
+    private double meanWalkSeconds = 300;
+
+    /**
+     * Parameterized constructor
+     * @param seed Random seed (same seed + configuration = same result)
+     */
+    public ParkSimulation(long seed) {
+        this.random = new Random(seed);
+    }
+
+    // ------------------------------ Configuration ------------------------------
+    /**
+     * Add a ride to the park
+     * @param ride Ride to simulate (needs an operator and maxRider > 0 to dispatch anyone)
+     * @param cycleSeconds Duration of one ride cycle (load + ride + unload) in seconds
+     * @param popularity Relative chance of being picked (e.g., 3 = three times as popular as 1)
+     */
+    public void addRide(Ride ride, double cycleSeconds, double popularity) {
+        if (cycleSeconds <= 0 || popularity <= 0) {
+            throw new IllegalArgumentException("Cycle time and popularity must be positive");
+        }
+        rides.add(new SimRide(ride, cycleSeconds, popularity));
+    }
+
+    /**
+     * Set number of visitors arriving during the day
+     * @param visitorCount Visitor count
+     */
+    public void setVisitorCount(int visitorCount) {
+        this.visitorCount = visitorCount;
+    }
+
+    /**
+     * Set park opening time
+     * @param openHours Hours from opening to closing
+     */
+    public void setOpenHours(double openHours) {
+        this.openHours = openHours;
+    }
+
+    /**
+     * Set the window (from opening) in which visitors arrive
+     * @param arrivalWindowHours Arrival window in hours
+     */
+    public void setArrivalWindowHours(double arrivalWindowHours) {
+        this.arrivalWindowHours = arrivalWindowHours;
+    }
+
+    /**
+     * Set mean number of rides each visitor takes
+     * @param meanRidesPerVisitor Mean rides (at least 1)
+     */
+    public void setMeanRidesPerVisitor(double meanRidesPerVisitor) {
+        this.meanRidesPerVisitor = Math.max(1, meanRidesPerVisitor);
+    }
+
+    /**
+     * Set mean walking time between rides
+     * @param meanWalkSeconds Mean walk in seconds
+     */
+    public void setMeanWalkSeconds(double meanWalkSeconds) {
+        this.meanWalkSeconds = meanWalkSeconds;
+    }
+
+    // ------------------------------ Simulation ------------------------------
+    /**
+     * Run one park day
+     * @return Per-ride throughput and queue statistics
+     */
+    public ParkSimulationReport run() {
+        if (rides.isEmpty()) {
+            throw new IllegalStateException("No rides added to the simulation");
+        }
+        long wallStart = System.nanoTime();
+        double closing = openHours * 3600;
+        PriorityQueue<SimEvent> events = new PriorityQueue<>();
+        long[] sequence = {0};
+
+        // Cumulative popularity for ride picking
+        double[] cumulative = new double[rides.size()];
+        double total = 0;
+        for (int i = 0; i < rides.size(); i++) {
+            total += rides.get(i).popularity;
+            cumulative[i] = total;
+        }
+
+        // Per-visitor ride budget, keyed by visitorId (a ride may hand back its registry's instance of the visitor)
+        Map<String, int[]> ridesLeft = new HashMap<>();
+        List<Visitor> dispatched = new ArrayList<>();
+        Map<Ride, LongSupplier> savedClocks = new IdentityHashMap<>();
+        double[] now = {0};
+        LongSupplier virtualClock = () -> (long) (now[0] * 1e9);
+        RideHistoryListener capture = new RideHistoryListener() {
+            @Override
+            public void onVisitorAdded(Ride ride, Visitor visitor) {
+                dispatched.add(visitor);
+            }
+
+            @Override
+            public void onVisitorsAdded(Ride ride, List<Visitor> visitors) {
+                dispatched.addAll(visitors);
+            }
+        };
+        for (SimRide simRide : rides) {
+            simRide.ride.addHistoryListener(capture);
+            savedClocks.put(simRide.ride, simRide.ride.getClock());
+            simRide.ride.setClock(virtualClock); // Also resets the ride's metrics
+            simRide.historyAtStart = simRide.ride.numberOfVisitors();
+            simRide.cyclesAtStart = simRide.ride.getNumOfCycles();
+            events.add(new SimEvent(0, sequence[0]++, SimEvent.CYCLE, simRide, null));
+        }
+
+        // Poisson arrivals: exponential gaps with mean window / visitors
+        double meanGap = arrivalWindowHours * 3600 / Math.max(1, visitorCount);
+        double arrival = 0;
+        for (int i = 0; i < visitorCount; i++) {
+            arrival += exponential(meanGap);
+            Visitor visitor = new Visitor("SIM" + i, "Guest " + i, 4 + random.nextInt(67),
+                    "SIMVIS" + i, random.nextDouble() < 0.15 ? "VIP" : "Standard");
+            ridesLeft.put(visitor.getVisitorId(), new int[]{geometric(meanRidesPerVisitor)});
+            events.add(new SimEvent(arrival, sequence[0]++, SimEvent.JOIN, null, visitor));
+        }
+
+        try {
+            long eventCount = 0;
+            while (!events.isEmpty() && events.peek().time < closing) {
+                SimEvent event = events.poll();
+                now[0] = event.time;
+                eventCount++;
+                if (event.kind == SimEvent.JOIN) {
+                    SimRide target = rides.get(pick(cumulative, total));
+                    target.ride.addVisitorToQueue(event.visitor);
+                    continue;
+                }
+                // CYCLE: dispatch if anyone is waiting, then schedule the next cycle
+                SimRide simRide = event.ride;
+                int waiting = simRide.ride.getQueueLength();
+                simRide.queueSamples++;
+                simRide.queueSum += waiting;
+                simRide.maxQueue = Math.max(simRide.maxQueue, waiting);
+                if (waiting > 0) {
+                    dispatched.clear();
+                    simRide.ride.runOneCycle();
+                    double unloaded = event.time + simRide.cycleSeconds;
+                    for (Visitor rider : dispatched) {
+                        int[] left = ridesLeft.get(rider.getVisitorId());
+                        if (left != null && --left[0] > 0) {
+                            events.add(new SimEvent(unloaded + exponential(meanWalkSeconds), sequence[0]++,
+                                    SimEvent.JOIN, null, rider));
+                        }
+                    }
+                }
+                events.add(new SimEvent(event.time + simRide.cycleSeconds, sequence[0]++, SimEvent.CYCLE, simRide, null));
+            }
+            now[0] = closing;
+            return buildReport(eventCount, System.nanoTime() - wallStart);
+        } finally {
+            for (SimRide simRide : rides) {
+                simRide.ride.removeHistoryListener(capture);
+                simRide.ride.setClock(savedClocks.get(simRide.ride));
+            }
+        }
+    }
+
+    /**
+     * Collect per-ride statistics after a run
+     * @param eventCount Events processed
+     * @param wallNanos Wall time of the run
+     * @return Report
+     */
+    private ParkSimulationReport buildReport(long eventCount, long wallNanos) {
+        List<ParkSimulationReport.RideStats> stats = new ArrayList<>();
+        for (SimRide simRide : rides) {
+            Ride ride = simRide.ride;
+            stats.add(new ParkSimulationReport.RideStats(
+                    ride.getRideName(),
+                    ride.numberOfVisitors() - simRide.historyAtStart,
+                    ride.getNumOfCycles() - simRide.cyclesAtStart,
+                    ride.getQueueLength(),
+                    simRide.maxQueue,
+                    simRide.queueSamples == 0 ? 0 : (double) simRide.queueSum / simRide.queueSamples,
+                    ride.getMetrics()));
+        }
+        return new ParkSimulationReport(stats, openHours, eventCount, wallNanos);
+    }
+
+    /**
+     * Pick a ride index by popularity
+     * @param cumulative Cumulative popularity
+     * @param total Sum of popularity
+     * @return Ride index
+     */
+    private int pick(double[] cumulative, double total) {
+        double target = random.nextDouble() * total;
+        int index = Arrays.binarySearch(cumulative, target);
+        index = index < 0 ? -index - 1 : index + 1;
+        return Math.min(index, cumulative.length - 1);
+    }
+
+    /**
+     * Draw from an exponential distribution
+     * @param mean Mean value
+     * @return Sample (≥ 0)
+     */
+    private double exponential(double mean) {
+        return -mean * Math.log(1 - random.nextDouble());
+    }
+
+    /**
+     * Draw a ride budget from a geometric distribution (support 1, 2, 3, ...)
+     * @param mean Mean value (≥ 1)
+     * @return Sample (≥ 1)
+     */
+    private int geometric(double mean) {
+        double p = 1 / mean;
+        if (p >= 1) {
+            return 1;
+        }
+        return 1 + (int) Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+    }
+
+    /**
+     * Ride plus its schedule and running statistics
+     */
+    private static final class SimRide {
+        private final Ride ride;
+        private final double cycleSeconds;
+        private final double popularity;
+        private int historyAtStart;
+        private int cyclesAtStart;
+        private int maxQueue;
+        private long queueSum;
+        private long queueSamples;
+
+        SimRide(Ride ride, double cycleSeconds, double popularity) {
+            this.ride = ride;
+            this.cycleSeconds = cycleSeconds;
+            this.popularity = popularity;
+        }
+    }
+
+    /**
+     * Scheduled event (ordered by virtual time, then creation order)
+     */
+    private static final class SimEvent implements Comparable<SimEvent> {
+        private static final int JOIN = 0;
+        private static final int CYCLE = 1;
+
+        private final double time;
+        private final long seq;
+        private final int kind;
+        private final SimRide ride;
+        private final Visitor visitor;
+
+        SimEvent(double time, long seq, int kind, SimRide ride, Visitor visitor) {
+            this.time = time;
+            this.seq = seq;
+            this.kind = kind;
+            this.ride = ride;
+            this.visitor = visitor;
+        }
+
+        @Override
+        public int compareTo(SimEvent other) {
+            int cmp = Double.compare(time, other.time);
+            return cmp != 0 ? cmp : Long.compare(seq, other.seq);
+        }
+    }
+
+    /**
+     * Run a sample park day (200 rides, 30,000 visitors) and print the report
+     * @param args Command-line arguments (unused)
+     */
+    public static void main(String[] args) {
+        ParkSimulation simulation = new ParkSimulation(42);
+        Random setup = new Random(7);
+        for (int i = 1; i <= 200; i++) {
+            Employee operator = new Employee("P" + i, "Operator " + i, 30, "E" + i, "Ride Operator");
+            Ride ride = new Ride(operator, "Ride " + i, "Simulated Ride", 4 + setup.nextInt(29));
+            ride.setEventSink(NoOpRideEventSink.INSTANCE); // Keep the console to the report
+            simulation.addRide(ride, 60 + setup.nextInt(241), 1 + setup.nextInt(5));
+        }
+        simulation.setVisitorCount(30_000);
+        System.out.println(simulation.run());
+    }
+}
\ No newline at end of file
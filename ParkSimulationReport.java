@@ -0,0 +1,194 @@
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a park simulation run (returned by ParkSimulation.run)
+ * Per-ride throughput and queue lengths plus simulation cost
+ */
+public class ParkSimulationReport {
+    // Per-ride statistics (in the order rides were added)
+    private final List<RideStats> rides;
+    // Simulated day length in hours
+    private final double simulatedHours;
+    // Events processed
+    private final long eventCount;
+    // Wall time of the run (nanoseconds)
+    private final long wallNanos;
+
+    /**
+     * Parameterized constructor
+     * @param rides Per-ride statistics
+     * @param simulatedHours Simulated hours
+     * @param eventCount Events processed
+     * @param wallNanos Wall time in nanoseconds
+     */
+    public ParkSimulationReport(List<RideStats> rides, double simulatedHours, long eventCount, long wallNanos) {
+        this.rides = Collections.unmodifiableList(rides);
+        this.simulatedHours = simulatedHours;
+        this.eventCount = eventCount;
+        this.wallNanos = wallNanos;
+    }
+
+    /**
+     * Get per-ride statistics
+     * @return Ride statistics list
+     */
+    public List<RideStats> getRides() {
+        return rides;
+    }
+
+    /**
+     * Get simulated day length
+     * @return simulatedHours (double)
+     */
+    public double getSimulatedHours() {
+        return simulatedHours;
+    }
+
+    /**
+     * Get number of events processed
+     * @return eventCount (long)
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Get wall time of the run
+     * @return wallNanos (long, nanoseconds)
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * Get riders across all rides
+     * @return Total riders (long)
+     */
+    public long getTotalRiders() {
+        long total = 0;
+        for (RideStats stats : rides) {
+            total += stats.getRiders();
+        }
+        return total;
+    }
+
+    /**
+     * Override toString for a printable report (one line per ride)
+     * @return Report as String
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Park simulation: %.1f h simulated, %d events, %d riders, %d ms wall time%n",
+                simulatedHours, eventCount, getTotalRiders(), wallNanos / 1_000_000));
+        for (RideStats stats : rides) {
+            RideMetrics metrics = stats.getMetrics();
+            text.append(String.format("  %-24s riders=%6d cycles=%5d riders/h=%8.1f avgQueue=%7.1f maxQueue=%6d "
+                            + "endQueue=%6d waitP50=%6.0fs waitP99=%6.0fs util=%5.1f%%%n",
+                    stats.getRideName(), stats.getRiders(), stats.getCycles(),
+                    simulatedHours == 0 ? 0 : stats.getRiders() / simulatedHours,
+                    stats.getAverageQueue(), stats.getMaxQueue(), stats.getEndQueue(),
+                    metrics.getP50WaitNanos() / 1e9, metrics.getP99WaitNanos() / 1e9,
+                    metrics.getUtilisation() * 100));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Statistics for one ride
+     */
+    public static class RideStats {
+        // Ride name
+        private final String rideName;
+        // Riders dispatched during the run
+        private final int riders;
+        // Cycles run during the run
+        private final int cycles;
+        // Visitors still waiting at closing
+        private final int endQueue;
+        // Longest queue seen at a cycle start
+        private final int maxQueue;
+        // Mean queue length at cycle starts
+        private final double averageQueue;
+        // Wait-time and throughput metrics measured in virtual time
+        private final RideMetrics metrics;
+
+        /**
+         * Parameterized constructor
+         * @param rideName Ride name
+         * @param riders Riders dispatched
+         * @param cycles Cycles run
+         * @param endQueue Queue length at closing
+         * @param maxQueue Longest queue seen
+         * @param averageQueue Mean queue length at cycle starts
+         * @param metrics Ride metrics for the simulated day
+         */
+        public RideStats(String rideName, int riders, int cycles, int endQueue, int maxQueue, double averageQueue,
+                         RideMetrics metrics) {
+            this.rideName = rideName;
+            this.riders = riders;
+            this.cycles = cycles;
+            this.endQueue = endQueue;
+            this.maxQueue = maxQueue;
+            this.averageQueue = averageQueue;
+            this.metrics = metrics;
+        }
+
+        /**
+         * Get ride name
+         * @return rideName (String)
+         */
+        public String getRideName() {
+            return rideName;
+        }
+
+        /**
+         * Get riders dispatched during the run
+         * @return riders (int)
+         */
+        public int getRiders() {
+            return riders;
+        }
+
+        /**
+         * Get cycles run during the run
+         * @return cycles (int)
+         */
+        public int getCycles() {
+            return cycles;
+        }
+
+        /**
+         * Get number of visitors still waiting at closing
+         * @return endQueue (int)
+         */
+        public int getEndQueue() {
+            return endQueue;
+        }
+
+        /**
+         * Get longest queue seen at a cycle start
+         * @return maxQueue (int)
+         */
+        public int getMaxQueue() {
+            return maxQueue;
+        }
+
+        /**
+         * Get mean queue length at cycle starts
+         * @return averageQueue (double)
+         */
+        public double getAverageQueue() {
+            return averageQueue;
+        }
+
+        /**
+         * Get wait-time and throughput metrics measured in virtual time
+         * @return metrics (RideMetrics)
+         */
+        public RideMetrics getMetrics() {
+            return metrics;
+        }
+    }
+}
\ No newline at end of file
@@ -1,3 +1,5 @@
+import java.io.IOException;
+
 /**
  * Abstract base class for people (corresponds to Assessment Part1, Part2)
  * Designed as abstract because we never instantiate "generic people"—only Employees/Visitors
@@ -85,4 +87,14 @@ public abstract class Person {
     public String toString() {
         return "Person{id='" + id + "', name='" + name + "', age=" + age + "}";
     }
+
+    /**
+     * Append the same text as toString to a caller-supplied target (no intermediate String per person)
+     * @param out Target (e.g., StringBuilder, Writer)
+     * @throws IOException If out fails
+     */
+    public void appendTo(Appendable out) throws IOException {
+        out.append("Person{id='").append(id).append("', name='").append(name)
+                .append("', age=").append(Integer.toString(age)).append('}');
+    }
 }
\ No newline at end of file
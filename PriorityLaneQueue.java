@@ -0,0 +1,270 @@
+import java.util.*;
+
+/**
+ * Multi-lane waiting queue (Queue implementation used by Ride, extends Assessment Part3)
+ * Each membership tier (e.g., "VIP"/"Standard") has its own FIFO lane; poll() serves lanes by weighted round-robin
+ * Example: weights VIP=2, Standard=1 fill seats as VIP, VIP, Standard, VIP, VIP, Standard...
+ * Design purpose: O(1) enqueue/dequeue per visitor, FIFO order within each lane, no re-sorting of one big list
+ * Each lane is a FifoWaitingLine, so join times travel with their visitors
+ * Thread safety: offers go straight to the lanes (lock-free in concurrent mode); the round-robin position is
+ * guarded by this queue's lock, so several threads may poll (e.g., runOneCycle and removeVisitorFromQueue)
+ */
+public class PriorityLaneQueue extends WaitingLine {
+    // Tier name per lane, in priority order (index matches lanes/weights)
+    private final String[] tiers;
+    // Seats granted to each lane per round-robin turn
+    private final int[] weights;
+    // One FIFO per tier
+    private final List<FifoWaitingLine> lanes;
+    // Lane currently being served by poll() (guarded by this)
+    private int currentLane;
+    // Seats the current lane may still take in this turn (guarded by this)
+    private int creditLeft;
+
+    /**
+     * Parameterized constructor (creates one lane per configured tier)
+     * Visitors whose membership type matches no tier go to the last lane
+     * @param tierWeights Tier name → seats per turn, in priority order (weights must be positive)
+     * @param concurrent true = lock-free lanes for multiple producer threads, false = plain ArrayDeque lanes
+     */
+    public PriorityLaneQueue(LinkedHashMap<String, Integer> tierWeights, boolean concurrent) {
+        if (tierWeights == null || tierWeights.isEmpty()) {
+            throw new IllegalArgumentException("At least one lane tier is required");
+        }
+        this.tiers = new String[tierWeights.size()];
+        this.weights = new int[tierWeights.size()];
+        this.lanes = new ArrayList<>(tierWeights.size());
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : tierWeights.entrySet()) {
+            if (entry.getValue() == null || entry.getValue() <= 0) {
+                throw new IllegalArgumentException("Lane weight must be positive for tier: " + entry.getKey());
+            }
+            tiers[i] = entry.getKey();
+            weights[i] = entry.getValue();
+            lanes.add(new FifoWaitingLine(concurrent));
+            i++;
+        }
+        this.currentLane = 0;
+        this.creditLeft = weights[0];
+    }
+
+    /**
+     * Get the lane index for a membership type
+     * @param membershipType Membership tier of a visitor
+     * @return Matching lane index, or the last lane if no tier matches
+     */
+    private int laneOf(String membershipType) {
+        for (int i = 0; i < tiers.length; i++) {
+            if (tiers[i].equalsIgnoreCase(membershipType)) {
+                return i;
+            }
+        }
+        return tiers.length - 1;
+    }
+
+    /**
+     * Get number of visitors waiting in one tier's lane
+     * @param tier Tier name (case-insensitive)
+     * @return Lane size (0 for unknown tiers)
+     */
+    public int laneSize(String tier) {
+        for (int i = 0; i < tiers.length; i++) {
+            if (tiers[i].equalsIgnoreCase(tier)) {
+                return lanes.get(i).size();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Add visitor and its join time to the tail of its tier's lane (O(1))
+     * @param visitor Visitor to add (non-null)
+     * @param joinedAt Join time in nanoseconds (NO_JOIN_TIME = unknown)
+     * @return true (lanes are unbounded)
+     */
+    @Override
+    public boolean offer(Visitor visitor, long joinedAt) {
+        Objects.requireNonNull(visitor, "visitor");
+        return lanes.get(laneOf(visitor.getMembershipType())).offer(visitor, joinedAt);
+    }
+
+    /**
+     * Remove the next entry according to the weighted round-robin (O(1) per visitor)
+     * Empty lanes are skipped so seats are never left unused while anyone is waiting
+     * Polling an empty queue leaves the round-robin position unchanged (so replaying logged operations is exact)
+     * @return Next entry, or null if all lanes are empty
+     */
+    @Override
+    synchronized Entry pollEntry() {
+        int startLane = currentLane;
+        int startCredit = creditLeft;
+        for (int attempts = 0; attempts <= tiers.length; attempts++) {
+            if (creditLeft > 0) {
+                Entry next = lanes.get(currentLane).pollEntry();
+                if (next != null) {
+                    creditLeft--;
+                    return next;
+                }
+            }
+            advanceLane();
+        }
+        currentLane = startLane;
+        creditLeft = startCredit;
+        return null;
+    }
+
+    /**
+     * Peek at the visitor poll() would return next (does not change round-robin state)
+     * @return Next visitor, or null if all lanes are empty
+     */
+    @Override
+    public synchronized Visitor peek() {
+        int lane = currentLane;
+        int credit = creditLeft;
+        for (int attempts = 0; attempts <= tiers.length; attempts++) {
+            if (credit > 0) {
+                Visitor next = lanes.get(lane).peek();
+                if (next != null) {
+                    return next;
+                }
+            }
+            lane = (lane + 1) % tiers.length;
+            credit = weights[lane];
+        }
+        return null;
+    }
+
+    /**
+     * Iterate entries lane by lane (same order as iterator())
+     * @return Iterator over waiting entries
+     */
+    @Override
+    Iterator<Entry> entries() {
+        return new Iterator<Entry>() {
+            private int lane = 0;
+            private Iterator<Entry> current = lanes.get(0).entries();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && lane < lanes.size() - 1) {
+                    lane++;
+                    current = lanes.get(lane).entries();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public Entry next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    /**
+     * Get the lane poll() serves next (round-robin position, saved in ride snapshots)
+     * @return Lane index, in tier order
+     */
+    public synchronized int getCurrentLane() {
+        return currentLane;
+    }
+
+    /**
+     * Get seats the current lane may still take in this turn
+     * @return creditLeft (int)
+     */
+    public synchronized int getCreditLeft() {
+        return creditLeft;
+    }
+
+    /**
+     * Restore the round-robin position (e.g., from a snapshot) so seating continues where it left off
+     * @param lane Lane index, in tier order
+     * @param credit Seats the lane may still take in this turn (0 to its weight)
+     * @throws IllegalArgumentException If the lane or credit is out of range
+     */
+    public synchronized void setRoundRobinPosition(int lane, int credit) {
+        if (lane < 0 || lane >= tiers.length || credit < 0 || credit > weights[lane]) {
+            throw new IllegalArgumentException("Invalid round-robin position: lane " + lane + ", credit " + credit);
+        }
+        this.currentLane = lane;
+        this.creditLeft = credit;
+    }
+
+    /**
+     * Move the round-robin to the next lane and refill its credit
+     */
+    private void advanceLane() {
+        currentLane = (currentLane + 1) % tiers.length;
+        creditLeft = weights[currentLane];
+    }
+
+    /**
+     * Get total visitors waiting across all lanes
+     * @return Queue size (int)
+     */
+    @Override
+    public int size() {
+        int total = 0;
+        for (Queue<Visitor> lane : lanes) {
+            total += lane.size();
+        }
+        return total;
+    }
+
+    /**
+     * Check if every lane is empty
+     * @return true = no visitors waiting
+     */
+    @Override
+    public boolean isEmpty() {
+        for (Queue<Visitor> lane : lanes) {
+            if (!lane.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Iterate visitors lane by lane (highest priority lane first, FIFO within each lane)
+     * @return Iterator over all waiting visitors (supports remove())
+     */
+    @Override
+    public Iterator<Visitor> iterator() {
+        return new Iterator<Visitor>() {
+            private int lane = 0;
+            private Iterator<Visitor> current = lanes.get(0).iterator();
+            private Iterator<Visitor> lastReturned;
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && lane < lanes.size() - 1) {
+                    lane++;
+                    current = lanes.get(lane).iterator();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public Visitor next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                lastReturned = current;
+                return current.next();
+            }
+
+            @Override
+            public void remove() {
+                if (lastReturned == null) {
+                    throw new IllegalStateException();
+                }
+                lastReturned.remove();
+                lastReturned = null;
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,373 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-ahead log of queue operations (crash recovery for waitingLine, extends Assessment Part3/5)
+ * Records addVisitorToQueue (ENQUEUE + visitor), removeVisitorFromQueue (REMOVE) and cycle dispatches
+ * (DISPATCH + rider count) as compact binary entries; replaying them in order rebuilds the queue and the
+ * history those dispatches produced
+ * Layout: header [magic "QWL1"][version u16], then entries [payload length varint][payload][CRC32C int]
+ * Entries are buffered and forced to disk every syncEvery entries (group commit); a torn tail left by a crash
+ * is detected by length/CRC, ignored on replay and cut off when the log is reopened
+ * Thread-safe: appends are synchronized (turnstile threads may enqueue while the operator dispatches)
+ */
+public class QueueWriteAheadLog implements Closeable {
+    // File magic ("QWL1")
+    static final int MAGIC = 0x51574C31;
+    // Format version
+    static final int VERSION = 1;
+    // Header size in bytes
+    private static final int HEADER_SIZE = 6;
+    // Entry op codes
+    private static final byte OP_ENQUEUE = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final byte OP_DISPATCH = 3;
+    // Buffered bytes that trigger a write to the channel (without forcing)
+    private static final int WRITE_THRESHOLD = 64 * 1024;
+
+    /**
+     * Receives replayed entries in log order
+     */
+    public interface Handler {
+        /**
+         * A visitor joined the queue
+         * @param visitor Logged visitor
+         */
+        void onEnqueue(Visitor visitor);
+
+        /**
+         * The visitor at the head of the queue was removed
+         */
+        void onRemove();
+
+        /**
+         * One cycle seated riders from the head of the queue
+         * @param riders Number of riders seated
+         */
+        void onDispatch(int riders);
+    }
+
+    // Log file
+    private final Path path;
+    private final FileChannel channel;
+    // Entries per forced flush
+    private final int syncEvery;
+    // Encoded entries not yet written to the channel
+    private final BinaryHistoryWriter.GrowableBytes buffer = new BinaryHistoryWriter.GrowableBytes(WRITE_THRESHOLD * 2);
+    // Scratch for one entry's payload
+    private final BinaryHistoryWriter.GrowableBytes payload = new BinaryHistoryWriter.GrowableBytes(256);
+    private final CRC32C crc = new CRC32C();
+    // Entries appended since the last forced flush
+    private int unsynced;
+    // Counters (entries, forced flushes, time spent appending / forcing)
+    private long entryCount;
+    private long syncCount;
+    private long appendNanos;
+    private long syncNanos;
+
+    /**
+     * Parameterized constructor (opens or creates the log; a torn tail from a crash is truncated first)
+     * @param path Log file
+     * @param syncEvery Entries per forced flush (1 = force every entry)
+     * @throws IOException If the file cannot be opened, or exists but is not a queue log
+     */
+    public QueueWriteAheadLog(Path path, int syncEvery) throws IOException {
+        if (syncEvery <= 0) {
+            throw new IllegalArgumentException("Sync interval must be positive: " + syncEvery);
+        }
+        this.path = path;
+        this.syncEvery = syncEvery;
+        boolean existing = Files.exists(path) && Files.size(path) > 0;
+        long validEnd = existing ? replay(path, null) : 0;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        if (existing) {
+            channel.truncate(validEnd);
+            channel.position(validEnd);
+        } else {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putShort((short) VERSION);
+            header.flip();
+            channel.write(header);
+            channel.force(false);
+        }
+    }
+
+    // ------------------------------ Append ------------------------------
+    /**
+     * Log a queue join
+     * @param visitor Visitor added to the queue
+     * @throws IOException If a flush fails
+     */
+    public synchronized void logEnqueue(Visitor visitor) throws IOException {
+        long start = System.nanoTime();
+        payload.reset();
+        payload.writeVarInt(OP_ENQUEUE);
+        writeString(visitor.getId());
+        writeString(visitor.getName());
+        payload.writeVarInt((visitor.getAge() << 1) ^ (visitor.getAge() >> 31));
+        writeString(visitor.getVisitorId());
+        writeString(visitor.getMembershipType());
+        append(start);
+    }
+
+    /**
+     * Log a removal from the head of the queue
+     * @throws IOException If a flush fails
+     */
+    public synchronized void logRemove() throws IOException {
+        long start = System.nanoTime();
+        payload.reset();
+        payload.writeVarInt(OP_REMOVE);
+        append(start);
+    }
+
+    /**
+     * Log one cycle's dispatch
+     * @param riders Riders seated from the head of the queue
+     * @throws IOException If a flush fails
+     */
+    public synchronized void logDispatch(int riders) throws IOException {
+        long start = System.nanoTime();
+        payload.reset();
+        payload.writeVarInt(OP_DISPATCH);
+        payload.writeVarInt(riders);
+        append(start);
+    }
+
+    /**
+     * Frame the current payload into the buffer and flush/force as configured
+     * @param start Time the append started (for overhead accounting)
+     * @throws IOException If a flush fails
+     */
+    private void append(long start) throws IOException {
+        crc.reset();
+        crc.update(payload.array(), 0, payload.size());
+        int checksum = (int) crc.getValue();
+        buffer.writeVarInt(payload.size());
+        buffer.write(payload.array(), 0, payload.size());
+        buffer.writeInt(checksum);
+        entryCount++;
+        if (++unsynced >= syncEvery) {
+            sync();
+        } else if (buffer.size() >= WRITE_THRESHOLD) {
+            writeBuffer();
+        }
+        appendNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Write buffered entries and force them to disk
+     * @throws IOException If writing or forcing fails
+     */
+    public synchronized void sync() throws IOException {
+        long start = System.nanoTime();
+        writeBuffer();
+        channel.force(false);
+        unsynced = 0;
+        syncCount++;
+        syncNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Write buffered entries to the channel (not forced)
+     * @throws IOException If writing fails
+     */
+    private void writeBuffer() throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(buffer.array(), 0, buffer.size());
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        buffer.reset();
+    }
+
+    /**
+     * Encode a nullable String (length + 1 as varint, 0 = null, then UTF-8 bytes)
+     * @param value String (null allowed)
+     */
+    private void writeString(String value) {
+        if (value == null) {
+            payload.writeVarInt(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        payload.writeVarInt(bytes.length + 1);
+        payload.write(bytes, 0, bytes.length);
+    }
+
+    // ------------------------------ Statistics ------------------------------
+    /**
+     * Get number of entries appended since the log was opened
+     * @return entryCount (long)
+     */
+    public synchronized long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Get number of forced flushes since the log was opened
+     * @return syncCount (long)
+     */
+    public synchronized long getSyncCount() {
+        return syncCount;
+    }
+
+    /**
+     * Get mean time per append, including the share of forced flushes
+     * @return Nanoseconds per entry (0 if nothing was appended)
+     */
+    public synchronized double getAverageAppendNanos() {
+        return entryCount == 0 ? 0 : (double) appendNanos / entryCount;
+    }
+
+    /**
+     * Get mean time per forced flush
+     * @return Nanoseconds per sync (0 if no sync happened)
+     */
+    public synchronized double getAverageSyncNanos() {
+        return syncCount == 0 ? 0 : (double) syncNanos / syncCount;
+    }
+
+    /**
+     * Force buffered entries to disk and close the file
+     * @throws IOException If flushing or closing fails
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Get the log file
+     * @return Log path
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    // ------------------------------ Replay ------------------------------
+    /**
+     * Replay every complete entry of a log in order (stops silently at a torn or corrupted tail)
+     * @param path Log file
+     * @param handler Receives the entries (null = only validate)
+     * @return Byte length of the valid prefix (header + complete entries)
+     * @throws IOException If the file cannot be read or is not a queue log
+     */
+    public static long replay(Path path, Handler handler) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        if (bytes.length < HEADER_SIZE) {
+            throw new IOException("Not a queue log file (too short)");
+        }
+        ByteBuffer header = ByteBuffer.wrap(bytes, 0, HEADER_SIZE);
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a queue log file (bad magic)");
+        }
+        int version = header.getShort() & 0xFFFF;
+        if (version != VERSION) {
+            throw new IOException("Unsupported queue log version: " + version);
+        }
+        CRC32C check = new CRC32C();
+        int[] position = {HEADER_SIZE, bytes.length};
+        long validEnd = HEADER_SIZE;
+        while (position[0] < bytes.length) {
+            int length = readVarInt(bytes, position);
+            int start = position[0];
+            if (length < 0 || start + length + Integer.BYTES > bytes.length) {
+                break; // Torn tail
+            }
+            check.reset();
+            check.update(bytes, start, length);
+            int stored = ByteBuffer.wrap(bytes, start + length, Integer.BYTES).getInt();
+            if (stored != (int) check.getValue()) {
+                break; // Corrupted tail
+            }
+            if (handler != null) {
+                int[] entry = {start, start + length};
+                if (!dispatchEntry(bytes, entry, handler)) {
+                    break;
+                }
+            }
+            position[0] = start + length + Integer.BYTES;
+            validEnd = position[0];
+        }
+        return validEnd;
+    }
+
+    /**
+     * Decode one entry and pass it to the handler
+     * @param bytes Log bytes
+     * @param entry {read position, entry end}
+     * @param handler Receiver
+     * @return false if the entry is malformed (treated as the end of the log)
+     */
+    private static boolean dispatchEntry(byte[] bytes, int[] entry, Handler handler) {
+        int op = readVarInt(bytes, entry);
+        switch (op) {
+            case OP_ENQUEUE: {
+                String personId = readString(bytes, entry);
+                String name = readString(bytes, entry);
+                int zigzag = readVarInt(bytes, entry);
+                String visitorId = readString(bytes, entry);
+                String membership = readString(bytes, entry);
+                handler.onEnqueue(new Visitor(personId, name, (zigzag >>> 1) ^ -(zigzag & 1), visitorId, membership));
+                return true;
+            }
+            case OP_REMOVE:
+                handler.onRemove();
+                return true;
+            case OP_DISPATCH:
+                handler.onDispatch(readVarInt(bytes, entry));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Read an unsigned varint (returns -1 if it runs past the end)
+     * @param bytes Source
+     * @param position {read position (advanced in place), end}
+     * @return Value, or -1 if truncated/malformed
+     */
+    private static int readVarInt(byte[] bytes, int[] position) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (position[0] >= position[1]) {
+                return -1;
+            }
+            int b = bytes[position[0]++] & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Read a nullable String written by writeString
+     * @param bytes Source
+     * @param position {read position (advanced in place), end}
+     * @return String (null if written as null)
+     */
+    private static String readString(byte[] bytes, int[] position) {
+        int length = readVarInt(bytes, position) - 1;
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(bytes, position[0], Math.min(length, position[1] - position[0]),
+                StandardCharsets.UTF_8);
+        position[0] += length;
+        return value;
+    }
+}
\ No newline at end of file
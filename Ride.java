@@ -1,5 +1,14 @@
 import java.io.*;
 import java.util.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Amusement ride class (implements RideInterface, covers all Assessment Part1-7 requirements)
@@ -16,24 +25,74 @@ public class Ride implements RideInterface {
     private String rideType;
 
     // ------------------------------ Collection Containers (Part3/4A) ------------------------------
-    // Waiting queue (LinkedList for Queue: FIFO + efficient add/remove, corresponds to Assessment Part3)
-    private Queue<Visitor> waitingLine;
+    // Waiting queue (Queue of visitors with their join times: FIFO + efficient add/remove, corresponds to Assessment Part3)
+    private WaitingLine waitingLine;
+    // Concurrent queue mode flag (true = lock-free queue shared by turnstile threads + one operator thread)
+    private boolean concurrentQueue;
+    // Priority lane weights per membership tier (null = single FIFO, otherwise PriorityLaneQueue)
+    private LinkedHashMap<String, Integer> laneWeights;
     // Ride history (LinkedList: efficient iteration + modification, corresponds to Assessment Part4A)
-    private LinkedList<Visitor> rideHistory;
+    // Can be switched to a ColumnarVisitorHistory for compact storage of very large histories,
+    // or to a SpillingVisitorHistory (bounded memory, older records on disk) for long-running rides
+    private List<Visitor> rideHistory;
+    // Hash index over rideHistory keyed by visitorId (O(1) membership + ride counts; null in bounded mode)
+    private VisitorIndex historyIndex;
+    // Listeners notified of every history append (journals, park-wide indexes)
+    private List<RideHistoryListener> historyListeners;
+    // Append-only journal of new history records (null = journaling off)
+    private HistoryJournal historyJournal;
+    // Always-sorted view of rideHistory (null = off; sortRideHistory re-sorts from scratch)
+    private SortedHistoryView sortedView;
+    // Write-ahead log of queue joins/removals/dispatches (null = off; detached by the first failed append)
+    private volatile QueueWriteAheadLog queueLog;
+    // Registry that maps visitors to shared instances before they enter the queue/history (null = off)
+    private VisitorRegistry visitorRegistry;
+    // Admission rules checked on enqueue and their compiled predicate (null = admit everyone)
+    private AdmissionRules admissionRules;
+    private Predicate<Visitor> admissionFilter;
+    // Visitors taken off the queue so far (lets a queue continuation token skip riders who already left)
+    // Atomic: removeVisitorFromQueue may run on another thread than the operator's cycles
+    private final AtomicLong queueDequeued = new AtomicLong();
+    // Bumped when history is reordered or replaced (invalidates history continuation tokens)
+    private int historyGeneration;
 
     // ------------------------------ Operation Parameters (Part5) ------------------------------
+    // admitVisitors batches at least this large are filtered with a parallel stream
+    private static final int PARALLEL_ADMISSION_THRESHOLD = 8192;
     // Max riders per cycle (configurable per ride, e.g., 8 for roller coasters)
     private int maxRider;
     // Number of cycles completed (tracks ride usage frequency)
     private int numOfCycles;
 
+    // ------------------------------ Metrics ------------------------------
+    // Monotonic clock in nanoseconds used to stamp queue joins and measure waits
+    private LongSupplier clock;
+    // Wait times of dispatched riders (nanoseconds)
+    private LatencyHistogram waitTimes;
+    // Cycles run since metrics were reset
+    private int metricsCycles;
+    // Clock reading when metrics were reset / last cycle ran
+    private long metricsStartNanos;
+    private long lastDispatchNanos;
+
+    // ------------------------------ Event Output ------------------------------
+    // Receives structured events for queue/history/cycle/file operations (console by default)
+    private RideEventSink eventSink;
+
     /**
      * Default constructor (initializes collections + default parameters)
      */
     public Ride() {
-        this.waitingLine = new LinkedList<>(); // LinkedList implementation of Queue
+        this.waitingLine = new FifoWaitingLine(false); // Single FIFO lane
         this.rideHistory = new LinkedList<>(); // Initialize ride history
+        this.historyIndex = new VisitorIndex(); // Index kept in step with rideHistory
+        this.historyListeners = new ArrayList<>();
         this.numOfCycles = 0; // Start with 0 cycles
+        this.eventSink = ConsoleRideEventSink.INSTANCE; // Same console output as before
+        this.clock = System::nanoTime;
+        this.waitTimes = new LatencyHistogram();
+        this.metricsStartNanos = clock.getAsLong();
+        this.lastDispatchNanos = metricsStartNanos;
     }
 
     /**
@@ -124,6 +183,273 @@ public class Ride implements RideInterface {
         return numOfCycles;
     }
 
+    /**
+     * Get wait-time and throughput metrics since the last reset
+     * @return Snapshot with p50/p90/p99/max wait, riders per minute and seat utilisation
+     */
+    public RideMetrics getMetrics() {
+        long riders = waitTimes.getTotalCount();
+        double minutes = (lastDispatchNanos - metricsStartNanos) / 60e9;
+        long seats = (long) maxRider * metricsCycles;
+        return new RideMetrics(riders, metricsCycles,
+                waitTimes.getValueAtPercentile(50), waitTimes.getValueAtPercentile(90),
+                waitTimes.getValueAtPercentile(99), waitTimes.getMax(),
+                minutes > 0 ? riders / minutes : 0, seats > 0 ? (double) riders / seats : 0);
+    }
+
+    /**
+     * Clear wait-time and throughput metrics (the throughput window restarts now)
+     */
+    public void resetMetrics() {
+        waitTimes.reset();
+        metricsCycles = 0;
+        metricsStartNanos = clock.getAsLong();
+        lastDispatchNanos = metricsStartNanos;
+    }
+
+    /**
+     * Get the clock used for wait-time metrics
+     * @return Clock in nanoseconds
+     */
+    public LongSupplier getClock() {
+        return clock;
+    }
+
+    /**
+     * Set the clock used for wait-time metrics (e.g., a simulation's virtual time); metrics are reset
+     * Visitors already waiting start their wait again on the new clock
+     * @param clock Monotonic clock in nanoseconds (null = System.nanoTime)
+     */
+    public void setClock(LongSupplier clock) {
+        this.clock = clock == null ? System::nanoTime : clock;
+        resetMetrics();
+        waitingLine.restartJoinTimes(metricsStartNanos);
+    }
+
+    /**
+     * Get number of visitors currently waiting
+     * @return Queue length (int)
+     */
+    public int getQueueLength() {
+        return waitingLine.size();
+    }
+
+    /**
+     * Get the event sink
+     * @return eventSink (RideEventSink)
+     */
+    public RideEventSink getEventSink() {
+        return eventSink;
+    }
+
+    /**
+     * Set the event sink (e.g., NoOpRideEventSink to silence hot paths, AsyncRideEventSink to move output off-thread)
+     * @param eventSink Event sink (null = no-op sink)
+     */
+    public void setEventSink(RideEventSink eventSink) {
+        this.eventSink = eventSink == null ? NoOpRideEventSink.INSTANCE : eventSink;
+    }
+
+    /**
+     * Publish an event if the sink is enabled (nothing is allocated when it is disabled)
+     * @param type Event kind
+     * @param visitor Visitor involved (null if none)
+     * @param cycle Cycle number or cycles run
+     * @param count Riders/records involved
+     * @param detail File path, error message or raw record (null if none)
+     */
+    private void emit(RideEvent.Type type, Visitor visitor, int cycle, int count, String detail) {
+        if (eventSink.isEnabled()) {
+            eventSink.publish(new RideEvent(type, rideName, visitor, cycle, count, 0, detail));
+        }
+    }
+
+    /**
+     * Check if the waiting queue is in concurrent mode
+     * @return true = lock-free concurrent queue, false = plain ArrayDeque-backed FifoWaitingLine
+     */
+    public boolean isConcurrentQueue() {
+        return concurrentQueue;
+    }
+
+    /**
+     * Switch the waiting queue between plain and concurrent mode (visitors already waiting keep their order)
+     * Concurrent mode uses a lock-free ConcurrentLinkedQueue: any number of turnstile threads may call
+     * addVisitorToQueue while a single operator thread runs runOneCycle; printQueue sees a weakly consistent view
+     * Ride history stays owned by the operator thread. Switch modes before producer threads start.
+     * @param concurrentQueue true = concurrent mode, false = plain mode
+     */
+    public void setConcurrentQueue(boolean concurrentQueue) {
+        if (this.concurrentQueue == concurrentQueue) {
+            return;
+        }
+        this.concurrentQueue = concurrentQueue;
+        rebuildWaitingLine();
+    }
+
+    /**
+     * Get the configured priority lane weights
+     * @return Tier name → seats per turn (copy), or null if priority lanes are off
+     */
+    public LinkedHashMap<String, Integer> getLaneWeights() {
+        return laneWeights == null ? null : new LinkedHashMap<>(laneWeights);
+    }
+
+    /**
+     * Enable VIP priority lanes with a weighted seat ratio (e.g., 2 VIP seats per Standard seat)
+     * @param vipWeight Seats given to the VIP lane per turn
+     * @param standardWeight Seats given to the Standard lane per turn
+     */
+    public void setPriorityLanes(int vipWeight, int standardWeight) {
+        LinkedHashMap<String, Integer> weights = new LinkedHashMap<>();
+        weights.put("VIP", vipWeight);
+        weights.put("Standard", standardWeight);
+        setPriorityLanes(weights);
+    }
+
+    /**
+     * Enable priority lanes: one FIFO lane per membership tier, seats filled by weighted round-robin
+     * Visitors already waiting are moved into their lanes (FIFO order kept within each lane)
+     * Weights are validated before anything changes: on IllegalArgumentException the ride keeps its current queue
+     * @param tierWeights Tier name → seats per turn, in priority order (null or empty = single FIFO queue)
+     */
+    public void setPriorityLanes(LinkedHashMap<String, Integer> tierWeights) {
+        LinkedHashMap<String, Integer> weights =
+                (tierWeights == null || tierWeights.isEmpty()) ? null : new LinkedHashMap<>(tierWeights);
+        WaitingLine migrated = newWaitingLine(weights, concurrentQueue); // Throws on invalid weights
+        waitingLine.copyTo(migrated); // Join times move with their visitors
+        this.laneWeights = weights;
+        this.waitingLine = migrated;
+    }
+
+    /**
+     * Check if ride history uses the columnar store
+     * @return true = ColumnarVisitorHistory, false = LinkedList
+     */
+    public boolean isColumnarHistory() {
+        return rideHistory instanceof ColumnarVisitorHistory;
+    }
+
+    /**
+     * Switch ride history between LinkedList and the compact columnar store (existing records are kept, in order)
+     * The columnar store interns IDs/names into a dictionary of its own and hands out Visitor views on read
+     * @param columnar true = ColumnarVisitorHistory, false = LinkedList
+     */
+    public void setColumnarHistory(boolean columnar) {
+        if (columnar == isColumnarHistory()) {
+            return;
+        }
+        setBoundedHistory(0, null); // Columnar history is fully in memory
+        List<Visitor> migrated = columnar ? new ColumnarVisitorHistory() : new LinkedList<>();
+        migrated.addAll(rideHistory);
+        this.rideHistory = migrated;
+    }
+
+    /**
+     * Check if ride history is bounded (recent records in memory, older records spilled to disk)
+     * @return true = SpillingVisitorHistory
+     */
+    public boolean isBoundedHistory() {
+        return rideHistory instanceof SpillingVisitorHistory;
+    }
+
+    /**
+     * Bound ride history memory: the latest maxInMemory records stay in a ring buffer, older ones are spilled
+     * in blocks to spillFile. numberOfVisitors, lookups, printing and export still see every record
+     * In bounded mode there is no in-memory visitorId index (lookups scan the spill file), sorting is not
+     * supported, and the sorted history view (if enabled) still holds every record in memory
+     * @param maxInMemory Records kept in memory (≤ 0 = unbounded: every record is loaded back into a LinkedList)
+     * @param spillFile Scratch segment file (truncated now, deleted when bounded mode ends)
+     */
+    public void setBoundedHistory(int maxInMemory, String spillFile) {
+        if (isBoundedHistory()) {
+            // Load records back first (a new spill file may be the same path as the current one)
+            SpillingVisitorHistory previous = (SpillingVisitorHistory) rideHistory;
+            List<Visitor> loaded = new LinkedList<>(previous);
+            rideHistory = loaded;
+            historyIndex = new VisitorIndex();
+            historyIndex.rebuild(loaded);
+            try {
+                previous.close();
+            } catch (IOException e) {
+                emit(RideEvent.Type.SPILL_FAILED, null, 0, 0, e.getMessage());
+            }
+        }
+        if (maxInMemory <= 0) {
+            return;
+        }
+        SpillingVisitorHistory bounded;
+        try {
+            bounded = new SpillingVisitorHistory(maxInMemory, Paths.get(spillFile));
+        } catch (IOException e) {
+            emit(RideEvent.Type.SPILL_FAILED, null, 0, 0, e.getMessage());
+            return;
+        }
+        bounded.addAll(rideHistory);
+        rideHistory = bounded;
+        historyIndex = null; // Its size grows with every distinct visitor
+    }
+
+    /**
+     * Get the visitor registry in use
+     * @return Registry, or null if visitors are stored as given
+     */
+    public VisitorRegistry getVisitorRegistry() {
+        return visitorRegistry;
+    }
+
+    /**
+     * Store shared visitor instances: every visitor entering the queue or history (including imports) is replaced
+     * by the registry's canonical Visitor for its visitorId, so rides sharing a registry share the objects
+     * Records already held are not changed
+     * @param visitorRegistry Registry to use (e.g., VisitorRegistry.SHARED; null = off)
+     */
+    public void setVisitorRegistry(VisitorRegistry visitorRegistry) {
+        this.visitorRegistry = visitorRegistry;
+    }
+
+    /**
+     * Get the admission rules checked on enqueue
+     * @return Rules, or null if everyone is admitted
+     */
+    public AdmissionRules getAdmissionRules() {
+        return admissionRules;
+    }
+
+    /**
+     * Restrict who may join the queue (age range, membership tiers); the rules are compiled once into a predicate
+     * With a visitor registry the rules check the registry's canonical Visitor, i.e. the instance that would be
+     * queued. Visitors already waiting are not re-checked. Set before producer threads start, like the queue mode
+     * @param admissionRules Rules to enforce (null = admit everyone)
+     */
+    public void setAdmissionRules(AdmissionRules admissionRules) {
+        this.admissionRules = admissionRules;
+        this.admissionFilter = admissionRules == null ? null : admissionRules.compile();
+    }
+
+    /**
+     * Recreate waitingLine for the current queue mode/lane settings, keeping visitors already waiting
+     */
+    private void rebuildWaitingLine() {
+        WaitingLine migrated = newWaitingLine(laneWeights, concurrentQueue);
+        waitingLine.copyTo(migrated); // Preserve order and join times of visitors already waiting
+        this.waitingLine = migrated;
+    }
+
+    /**
+     * Create an empty waiting queue for the given settings
+     * @param weights Lane weights (null = no priority lanes)
+     * @param concurrent true = lock-free queue
+     * @return New empty queue
+     * @throws IllegalArgumentException If a lane weight is not positive
+     */
+    private static WaitingLine newWaitingLine(LinkedHashMap<String, Integer> weights, boolean concurrent) {
+        if (weights != null) {
+            return new PriorityLaneQueue(weights, concurrent);
+        }
+        return new FifoWaitingLine(concurrent);
+    }
+
     // ------------------------------ Part3: Queue Management ------------------------------
     /**
      * Add visitor to waiting queue (implements RideInterface)
@@ -133,25 +459,120 @@ public class Ride implements RideInterface {
     @Override
     public void addVisitorToQueue(Visitor visitor) {
         if (visitor == null) {
-            System.out.println("[Failed] Cannot add null visitor to queue");
+            emit(RideEvent.Type.QUEUE_NULL_REJECTED, null, 0, 0, null);
+            return;
+        }
+        Predicate<Visitor> filter = admissionFilter;
+        if (filter != null && !filter.test(admissionView(visitor))) {
+            emit(RideEvent.Type.QUEUE_ADMISSION_REJECTED, visitor, 0, 0,
+                    eventSink.isEnabled() ? String.valueOf(admissionRules) : null);
             return;
         }
-        waitingLine.offer(visitor); // Safe addition to Queue
-        System.out.println("[Success] Visitor " + visitor.getName() + " added to " + rideName + " queue");
+        visitor = canonicalVisitor(visitor); // Only admitted visitors are registered
+        offerToQueue(visitor, clock.getAsLong());
+        emit(RideEvent.Type.QUEUE_ADDED, visitor, 0, 0, null);
+    }
+
+    /**
+     * Add a batch of arrivals to the queue, keeping only visitors who pass the admission rules
+     * The rules are checked in one pass (a parallel stream for large batches), against the registered instance of
+     * visitors already in the registry; only admitted visitors are registered. They join in arrival order with the
+     * same join time. One summary event is published instead of one per visitor
+     * @param arrivals Arriving visitors (null entries are rejected)
+     * @return Admitted and rejected counts
+     */
+    public AdmissionResult admitVisitors(Collection<Visitor> arrivals) {
+        long startNanos = System.nanoTime();
+        Predicate<Visitor> filter = admissionFilter;
+        Predicate<Visitor> admit = filter == null ? Objects::nonNull
+                : visitor -> visitor != null && filter.test(admissionView(visitor)); // Registry lookups are lock-free
+        List<Visitor> admitted = (arrivals.size() >= PARALLEL_ADMISSION_THRESHOLD
+                ? arrivals.parallelStream() : arrivals.stream())
+                .filter(admit)
+                .collect(Collectors.toList()); // Encounter (arrival) order is kept
+        long now = clock.getAsLong();
+        for (Visitor visitor : admitted) {
+            offerToQueue(canonicalVisitor(visitor), now);
+        }
+        int rejected = arrivals.size() - admitted.size();
+        if (eventSink.isEnabled()) {
+            eventSink.publish(new RideEvent(RideEvent.Type.QUEUE_BATCH_ADMITTED, rideName, null, 0,
+                    admitted.size(), waitingLine.size(), String.valueOf(rejected)));
+        }
+        return new AdmissionResult(admitted.size(), rejected, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Get the instance the admission rules check, without registering anything
+     * @param visitor Arriving visitor (non-null)
+     * @return The registry's shared Visitor if its visitorId is already registered, otherwise visitor itself
+     */
+    private Visitor admissionView(Visitor visitor) {
+        VisitorRegistry registry = visitorRegistry;
+        Visitor registered = registry == null ? null : registry.lookup(visitor.getVisitorId());
+        return registered != null ? registered : visitor;
+    }
+
+    /**
+     * Get the instance the queue and history would hold for a visitor (registers it if the registry lacks it)
+     * @param visitor Visitor (may be null)
+     * @return The registry's shared Visitor if a registry is set, otherwise visitor itself
+     */
+    private Visitor canonicalVisitor(Visitor visitor) {
+        VisitorRegistry registry = visitorRegistry;
+        return registry == null ? visitor : registry.canonical(visitor);
+    }
+
+    /**
+     * Put an admitted visitor at the back of the queue (join time, queue log)
+     * @param visitor Canonical visitor to add (non-null; see canonicalVisitor)
+     * @param now Join time from the ride clock
+     */
+    private void offerToQueue(Visitor visitor, long now) {
+        QueueWriteAheadLog log = queueLog;
+        if (log == null) {
+            waitingLine.offer(visitor, now); // Safe addition to Queue; wait starts now
+        } else {
+            synchronized (log) { // Log order must match queue order
+                waitingLine.offer(visitor, now);
+                try {
+                    log.logEnqueue(visitor);
+                } catch (IOException e) {
+                    disableQueueLog(log, visitor, 0, e);
+                }
+            }
+        }
     }
 
     /**
      * Remove first visitor from queue (implements RideInterface)
      * Uses Queue.poll(): returns null if queue is empty (avoids NoSuchElementException)
+     * Polls first and checks for null so it stays race-free in concurrent queue mode
      */
     @Override
     public void removeVisitorFromQueue() {
-        if (waitingLine.isEmpty()) {
-            System.out.println("[Failed] " + rideName + " queue is empty—cannot remove visitor");
+        Visitor removed;
+        QueueWriteAheadLog log = queueLog;
+        if (log == null) {
+            removed = waitingLine.poll(); // Remove and return front element
+        } else {
+            synchronized (log) {
+                removed = waitingLine.poll();
+                if (removed != null) {
+                    try {
+                        log.logRemove();
+                    } catch (IOException e) {
+                        disableQueueLog(log, removed, 0, e);
+                    }
+                }
+            }
+        }
+        if (removed == null) {
+            emit(RideEvent.Type.QUEUE_EMPTY_ON_REMOVE, null, 0, 0, null);
             return;
         }
-        Visitor removed = waitingLine.poll(); // Remove and return front element
-        System.out.println("[Success] Visitor " + removed.getName() + " removed from " + rideName + " queue");
+        queueDequeued.incrementAndGet();
+        emit(RideEvent.Type.QUEUE_REMOVED, removed, 0, 0, null);
     }
 
     /**
@@ -172,6 +593,51 @@ public class Ride implements RideInterface {
         }
     }
 
+    /**
+     * Render one page of the waiting queue into out (implements RideInterface)
+     * Lines look like printQueue's; skipping offset matches walks the queue, so prefer tokens for deep pages
+     * In plain queue mode call from the operator thread; in concurrent mode the page is weakly consistent
+     * @param offset Matching visitors to skip (0 = first page)
+     * @param pageSize Max visitors on the page (positive)
+     * @param filter Visitors to include (null = all)
+     * @param out Target (e.g., StringBuilder, Writer)
+     * @return Rendered count, next offset and continuation token
+     * @throws IOException If out fails
+     */
+    @Override
+    public VisitorPage pageQueue(long offset, int pageSize, Predicate<Visitor> filter, Appendable out)
+            throws IOException {
+        checkPageArguments(offset, pageSize);
+        return renderPage(waitingLine.iterator(), 'Q', queueDequeued.get(), 0, 0, offset, pageSize, filter, out);
+    }
+
+    /**
+     * Render the queue page that follows a previous pageQueue call (implements RideInterface)
+     * Riders dispatched or removed since then are accounted for, so the page continues after the last visitor
+     * already shown (with priority lanes, where riders leave from several lanes, this is approximate)
+     * The queue iterator still steps over the visitors before that point, but does not filter them again
+     * @param continuationToken Token from the previous page
+     * @param pageSize Max visitors on the page (positive)
+     * @param filter Same filter as the previous page (null = all)
+     * @param out Target
+     * @return Rendered count, next offset and continuation token
+     * @throws IOException If out fails
+     * @throws IllegalArgumentException If the token is not a queue token
+     */
+    @Override
+    public VisitorPage pageQueue(String continuationToken, int pageSize, Predicate<Visitor> filter, Appendable out)
+            throws IOException {
+        long[] token = parsePageToken(continuationToken, 'Q');
+        checkPageArguments(0, pageSize);
+        long dequeued = queueDequeued.get();
+        long skip = Math.max(0, token[1] - (dequeued - token[0])); // Riders who left were ahead of the cursor
+        Iterator<Visitor> iterator = waitingLine.iterator();
+        for (long i = 0; i < skip && iterator.hasNext(); i++) {
+            iterator.next();
+        }
+        return renderPage(iterator, 'Q', dequeued, skip, token[2], 0, pageSize, filter, out);
+    }
+
     // ------------------------------ Part4A: Ride History Management ------------------------------
     /**
      * Add visitor to ride history (implements RideInterface)
@@ -180,16 +646,17 @@ public class Ride implements RideInterface {
     @Override
     public void addVisitorToHistory(Visitor visitor) {
         if (visitor == null) {
-            System.out.println("[Failed] Cannot add null visitor to ride history");
+            emit(RideEvent.Type.HISTORY_NULL_REJECTED, null, 0, 0, null);
             return;
         }
-        rideHistory.add(visitor); // Add to end of LinkedList
-        System.out.println("[Success] Visitor " + visitor.getName() + " added to " + rideName + " history");
+        Visitor stored = appendToHistory(visitor); // Add to end of history + keep lookup index in step
+        emit(RideEvent.Type.HISTORY_ADDED, stored, 0, 0, null);
     }
 
     /**
      * Check if visitor exists in ride history (implements RideInterface)
      * Uses visitorId for comparison (avoids object reference issues)
+     * Answered from historyIndex in O(1) instead of scanning rideHistory
      * @param visitor Visitor to check
      * @return true = exists, false = does not exist
      */
@@ -198,13 +665,25 @@ public class Ride implements RideInterface {
         if (visitor == null || rideHistory.isEmpty()) {
             return false;
         }
-        // Iterate history to match visitorId
-        for (Visitor v : rideHistory) {
-            if (v.getVisitorId().equals(visitor.getVisitorId())) {
-                return true;
-            }
+        if (historyIndex == null) {
+            return ((SpillingVisitorHistory) rideHistory).containsVisitorId(visitor.getVisitorId());
         }
-        return false;
+        return historyIndex.contains(visitor.getVisitorId());
+    }
+
+    /**
+     * Count how many times a visitor appears in ride history (matched by visitorId)
+     * @param visitor Visitor to count
+     * @return Number of rides taken (0 if never ridden or visitor is null)
+     */
+    public int countVisitorRides(Visitor visitor) {
+        if (visitor == null) {
+            return 0;
+        }
+        if (historyIndex == null) {
+            return ((SpillingVisitorHistory) rideHistory).countVisitorId(visitor.getVisitorId());
+        }
+        return historyIndex.count(visitor.getVisitorId());
     }
 
     /**
@@ -236,52 +715,712 @@ public class Ride implements RideInterface {
         }
     }
 
+    /**
+     * Render one page of ride history, in record order, into out (implements RideInterface)
+     * Without a filter the page starts at record offset without testing earlier records (seeking there is O(1) on
+     * the columnar and bounded stores; the default LinkedList walks from its nearer end); with a filter, offset
+     * matches are skipped first
+     * @param offset Matching records to skip (0 = first page)
+     * @param pageSize Max records on the page (positive)
+     * @param filter Records to include (null = all)
+     * @param out Target (e.g., StringBuilder, Writer)
+     * @return Rendered count, next offset and continuation token
+     * @throws IOException If out fails
+     */
+    @Override
+    public VisitorPage pageRideHistory(long offset, int pageSize, Predicate<Visitor> filter, Appendable out)
+            throws IOException {
+        checkPageArguments(offset, pageSize);
+        if (filter != null) {
+            return renderPage(rideHistory.iterator(), 'H', historyGeneration, 0, 0, offset, pageSize, filter, out);
+        }
+        int start = (int) Math.min(offset, rideHistory.size());
+        return renderPage(rideHistory.listIterator(start), 'H', historyGeneration, start, start, 0, pageSize, null,
+                out);
+    }
+
+    /**
+     * Render the history page that follows a previous pageRideHistory call (implements RideInterface)
+     * Starts at the record where the previous page stopped, so records already skipped are not filtered again;
+     * seeking there is O(1) on the columnar and bounded stores, while the default LinkedList walks
+     * O(min(i, n - i)) nodes from its nearer end. Records appended since then are included
+     * @param continuationToken Token from the previous page
+     * @param pageSize Max records on the page (positive)
+     * @param filter Same filter as the previous page (null = all)
+     * @param out Target
+     * @return Rendered count, next offset and continuation token
+     * @throws IOException If out fails
+     * @throws IllegalArgumentException If the token is not a history token, or history was sorted or replaced since
+     */
+    @Override
+    public VisitorPage pageRideHistory(String continuationToken, int pageSize, Predicate<Visitor> filter,
+                                       Appendable out) throws IOException {
+        long[] token = parsePageToken(continuationToken, 'H');
+        checkPageArguments(0, pageSize);
+        if (token[0] != historyGeneration || token[1] > rideHistory.size()) {
+            throw new IllegalArgumentException("Continuation token is stale: ride history was sorted or replaced");
+        }
+        return renderPage(rideHistory.listIterator((int) token[1]), 'H', historyGeneration, token[1], token[2],
+                0, pageSize, filter, out);
+    }
+
+    /**
+     * Validate paging arguments
+     * @param offset Requested offset
+     * @param pageSize Requested page size
+     */
+    private static void checkPageArguments(long offset, int pageSize) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Page offset must not be negative: " + offset);
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+    }
+
+    /**
+     * Render matching records from an iterator until the page is full, then find where the next page starts
+     * Looks ahead to the next match so the last page is reported exactly and the token points at that match
+     * @param records Iterator positioned at position
+     * @param kind Token kind ('Q' = queue, 'H' = history)
+     * @param generation Queue dequeue count or history generation at the time of the call
+     * @param position Index of the iterator's next record in the underlying queue/history
+     * @param matched Matching records before this page (line numbers continue from here)
+     * @param skip Matching records still to skip before rendering (offset paging with a filter)
+     * @param pageSize Max records to render
+     * @param filter Records to include (null = all)
+     * @param out Target
+     * @return Page result
+     * @throws IOException If out fails
+     */
+    private static VisitorPage renderPage(Iterator<Visitor> records, char kind, long generation, long position,
+                                          long matched, long skip, int pageSize, Predicate<Visitor> filter,
+                                          Appendable out) throws IOException {
+        String newline = System.lineSeparator();
+        int rendered = 0;
+        for (; records.hasNext(); position++) {
+            Visitor visitor = records.next();
+            if (filter != null && !filter.test(visitor)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                matched++;
+                continue;
+            }
+            if (rendered == pageSize) {
+                // First match of the next page: resume from it
+                String token = kind + Long.toString(generation) + ":" + position + ":" + matched;
+                return new VisitorPage(rendered, matched, token);
+            }
+            out.append(Long.toString(matched + 1)).append(". ");
+            visitor.appendTo(out);
+            out.append(newline);
+            rendered++;
+            matched++;
+        }
+        return new VisitorPage(rendered, matched, null);
+    }
+
+    /**
+     * Decode a continuation token made by renderPage
+     * @param token Token text
+     * @param kind Expected kind ('Q' or 'H')
+     * @return {generation, position, matched}
+     */
+    private static long[] parsePageToken(String token, char kind) {
+        String[] parts = token == null || token.isEmpty() || token.charAt(0) != kind
+                ? null : token.substring(1).split(":");
+        if (parts == null || parts.length != 3) {
+            throw new IllegalArgumentException("Not a " + (kind == 'Q' ? "queue" : "history")
+                    + " continuation token: " + token);
+        }
+        try {
+            long[] values = {Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2])};
+            if (values[1] < 0 || values[2] < 0) {
+                throw new NumberFormatException();
+            }
+            return values;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed continuation token: " + token);
+        }
+    }
+
     // ------------------------------ Part4B: Ride History Sorting ------------------------------
     /**
      * Sort ride history (uses VisitorComparator, corresponds to Assessment Part4B)
      * Sorting rules: Age (ascending) → Name (alphabetical)
+     * Uses VisitorSortEngine (packed primitive keys + radix sort) for large histories;
+     * with the sorted view enabled, copies the view instead (same order: ties keep arrival order either way)
      */
     public void sortRideHistory() {
         if (rideHistory.isEmpty()) {
-            System.out.println("[Info] " + rideName + " ride history is empty—no sorting needed");
+            emit(RideEvent.Type.SORT_SKIPPED_EMPTY, null, 0, 0, null);
+            return;
+        }
+        if (isBoundedHistory()) {
+            emit(RideEvent.Type.SORT_UNSUPPORTED, null, 0, 0, null);
+            return;
+        }
+        if (sortedView != null) {
+            // View is already in order: copy it back in one pass, no comparisons
+            ListIterator<Visitor> target = rideHistory.listIterator();
+            for (Visitor visitor : sortedView.sorted()) {
+                target.next();
+                target.set(visitor);
+            }
+        } else {
+            VisitorSortEngine.sort(rideHistory); // Same order as Collections.sort with VisitorComparator, via radix sort
+        }
+        // Sorting only reorders records, so historyIndex counts remain valid
+        historyGeneration++;
+        emit(RideEvent.Type.HISTORY_SORTED, null, 0, rideHistory.size(), null);
+    }
+
+    /**
+     * Get the first k history records in comparator order without sorting history (history is not changed)
+     * Bounded heap, O(n log k); equal records keep history order, exactly like the first k of a stable sort
+     * e.g., youngest 50: topVisitorsFromHistory(50, Comparator.comparingInt(Visitor::getAge))
+     * @param k Number of records wanted
+     * @param comparator Order (smallest first; null = VisitorComparator, the sortRideHistory order)
+     * @return Up to k records, best first (new list)
+     */
+    public List<Visitor> topVisitorsFromHistory(int k, Comparator<? super Visitor> comparator) {
+        return TopKSelector.select(rideHistory, k, comparator == null ? new VisitorComparator() : comparator);
+    }
+
+    /**
+     * Parallel topVisitorsFromHistory: history chunks are scanned on the common fork/join pool (one heap per chunk)
+     * and the heaps are merged; returns the same list as the sequential query
+     * The comparator is called from several threads and must not keep state
+     * @param k Number of records wanted
+     * @param comparator Order (smallest first; null = VisitorComparator)
+     * @return Up to k records, best first (new list)
+     */
+    public List<Visitor> topVisitorsFromHistoryParallel(int k, Comparator<? super Visitor> comparator) {
+        Visitor[] records = rideHistory.toArray(new Visitor[0]); // Random access for chunking
+        return TopKSelector.selectParallel(records, k, comparator == null ? new VisitorComparator() : comparator,
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Check if the always-sorted history view is enabled
+     * @return true = enabled
+     */
+    public boolean isSortedHistoryView() {
+        return sortedView != null;
+    }
+
+    /**
+     * Enable/disable the always-sorted history view (a skip list kept in step with every history append)
+     * When enabled, the view is seeded from the current history (its current order becomes the insertion order)
+     * @param enabled true = maintain the view, false = drop it
+     */
+    public void setSortedHistoryView(boolean enabled) {
+        if (enabled == (sortedView != null)) {
             return;
         }
-        Collections.sort(rideHistory, new VisitorComparator()); // Sort with custom comparator
-        System.out.println("[Success] " + rideName + " history sorted by: Age (ascending) → Name (alphabetical)");
+        if (enabled) {
+            sortedView = new SortedHistoryView();
+            for (Visitor visitor : rideHistory) {
+                sortedView.add(visitor);
+            }
+            addHistoryListener(sortedView);
+        } else {
+            removeHistoryListener(sortedView);
+            sortedView = null;
+        }
+    }
+
+    /**
+     * Get ride history in sorted order without sorting (requires the sorted view)
+     * Safe to iterate from other threads while the ride keeps adding riders
+     * @return Sorted records (empty if the view is disabled)
+     */
+    public Iterable<Visitor> getSortedHistory() {
+        return sortedView == null ? Collections.emptyList() : sortedView.sorted();
+    }
+
+    /**
+     * Get ride history in the order riders were added (requires the sorted view; unaffected by sortRideHistory)
+     * @return Records in insertion order (empty if the view is disabled)
+     */
+    public Iterable<Visitor> getInsertionOrderHistory() {
+        return sortedView == null ? Collections.emptyList() : sortedView.insertionOrder();
     }
 
     // ------------------------------ Part5: Ride Cycle Operation ------------------------------
     /**
      * Run one ride cycle (implements RideInterface, corresponds to Assessment Part5)
-     * Core logic: Check operator → Check queue → Move visitors → Update cycle count
+     * Core logic: Check operator → Check seats → Check queue → Move visitors → Update cycle count
+     * With maxRider ≤ 0 nobody can be seated: NO_SEATS is reported and no cycle is counted
      */
     @Override
     public void runOneCycle() {
         // 1. Check if operator is assigned
         if (operator == null) {
-            System.out.println("[Failed] " + rideName + " has no operator—cannot run");
+            emit(RideEvent.Type.NO_OPERATOR, null, 0, 0, null);
             return;
         }
-        // 2. Check if queue is empty
-        if (waitingLine.isEmpty()) {
-            System.out.println("[Failed] " + rideName + " queue is empty—cannot run");
+        if (maxRider <= 0) {
+            emit(RideEvent.Type.NO_SEATS, null, 0, maxRider, null); // No cycle is counted
             return;
         }
-        // 3. Calculate riders for this cycle (capped at maxRider)
-        int ridersThisCycle = Math.min(maxRider, waitingLine.size());
-        System.out.println("\n[Starting Cycle] " + rideName + " Cycle " + (numOfCycles + 1) + "—planned riders: " + ridersThisCycle);
+        // 2. Drain this cycle's batch (capped at maxRider)
+        List<Visitor> batch = pollCycleBatch();
+        // 3. Check if queue was empty
+        if (batch.isEmpty()) {
+            emit(RideEvent.Type.QUEUE_EMPTY_ON_RUN, null, 0, 0, null);
+            return;
+        }
+        int ridersThisCycle = batch.size();
+        emit(RideEvent.Type.CYCLE_STARTED, null, numOfCycles + 1, ridersThisCycle, null);
 
-        // 4. Move visitors from queue to history
-        for (int i = 0; i < ridersThisCycle; i++) {
-            Visitor rider = waitingLine.poll(); // Remove front visitor
-            if (rider != null) {
-                addVisitorToHistory(rider); // Reuse Part4A method
-            }
+        // 4. Move visitors from batch to history
+        for (Visitor rider : batch) {
+            addVisitorToHistory(rider); // Reuse Part4A method
         }
 
         // 5. Update cycle count
         numOfCycles++;
-        System.out.println("[Cycle Complete] " + rideName + " Cycle " + numOfCycles + " finished—total cycles: " + numOfCycles);
+        emit(RideEvent.Type.CYCLE_COMPLETED, null, numOfCycles, 0, null);
+    }
+
+    /**
+     * Run up to n ride cycles in bulk (stops early once the queue is empty)
+     * Same seating rules as runOneCycle, but each cycle's riders are appended to history in one step
+     * and only a single summary event is published (numOfCycles ends with the same value as n runOneCycle calls)
+     * @param n Maximum number of cycles to run
+     * @return Summary of cycles run, riders moved and visitors left waiting
+     */
+    public CycleRunResult runCycles(int n) {
+        if (operator == null) {
+            emit(RideEvent.Type.NO_OPERATOR, null, 0, 0, null);
+            return new CycleRunResult(0, 0, waitingLine.size());
+        }
+        if (maxRider <= 0) {
+            emit(RideEvent.Type.NO_SEATS, null, 0, maxRider, null);
+            return new CycleRunResult(0, 0, waitingLine.size());
+        }
+        int cyclesRun = 0;
+        int ridersMoved = 0;
+        while (cyclesRun < n) {
+            List<Visitor> batch = pollCycleBatch();
+            if (batch.isEmpty()) {
+                break; // runOneCycle would fail here without counting a cycle
+            }
+            appendToHistory(batch);
+            numOfCycles++;
+            cyclesRun++;
+            ridersMoved += batch.size();
+        }
+        CycleRunResult result = new CycleRunResult(cyclesRun, ridersMoved, waitingLine.size());
+        if (eventSink.isEnabled()) {
+            eventSink.publish(new RideEvent(RideEvent.Type.BULK_RUN_COMPLETED, rideName, null,
+                    cyclesRun, ridersMoved, result.getLeftover(), null));
+        }
+        return result;
+    }
+
+    /**
+     * Run ride cycles in bulk until the waiting queue is empty
+     * @return Summary of cycles run, riders moved and visitors left waiting
+     */
+    public CycleRunResult runUntilEmpty() {
+        return runCycles(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Poll the riders for one cycle (up to maxRider) from the waiting queue
+     * Polling never blocks producers in concurrent queue mode; each rider's wait is recorded here
+     * @return Riders in boarding order (empty if the queue is empty)
+     */
+    private List<Visitor> pollCycleBatch() {
+        QueueWriteAheadLog log = queueLog;
+        if (log == null) {
+            return drainCycleBatch();
+        }
+        synchronized (log) {
+            List<Visitor> batch = drainCycleBatch();
+            if (!batch.isEmpty()) {
+                try {
+                    log.logDispatch(batch.size());
+                } catch (IOException e) {
+                    disableQueueLog(log, null, batch.size(), e);
+                }
+            }
+            return batch;
+        }
+    }
+
+    /**
+     * Poll up to maxRider visitors and record their waits (the body of pollCycleBatch)
+     * @return Riders in boarding order (empty if the queue is empty)
+     */
+    private List<Visitor> drainCycleBatch() {
+        List<Visitor> batch = new ArrayList<>(Math.max(maxRider, 0));
+        long now = clock.getAsLong();
+        WaitingLine.Entry next;
+        while (batch.size() < maxRider && (next = waitingLine.pollEntry()) != null) {
+            if (next.joinedAt != WaitingLine.NO_JOIN_TIME) {
+                waitTimes.record(now - next.joinedAt);
+            }
+            batch.add(next.visitor);
+        }
+        if (!batch.isEmpty()) {
+            queueDequeued.addAndGet(batch.size());
+            metricsCycles++;
+            lastDispatchNanos = now;
+        }
+        return batch;
+    }
+
+    /**
+     * Append one record to history (single place where history and its index are updated together)
+     * @param visitor Rider to append (non-null)
+     * @return Instance actually stored (the registry's shared Visitor if a registry is set)
+     */
+    private Visitor appendToHistory(Visitor visitor) {
+        if (visitorRegistry != null) {
+            visitor = visitorRegistry.canonical(visitor);
+        }
+        rideHistory.add(visitor);
+        if (historyIndex != null) {
+            historyIndex.add(visitor);
+        }
+        for (int i = 0; i < historyListeners.size(); i++) {
+            historyListeners.get(i).onVisitorAdded(this, visitor);
+        }
+        return visitor;
+    }
+
+    /**
+     * Append a batch of riders to history in one step (no per-visitor output)
+     * @param visitors Riders to append, in riding order (replaced in place by shared instances if a registry is set)
+     */
+    private void appendToHistory(List<Visitor> visitors) {
+        if (visitorRegistry != null) {
+            for (ListIterator<Visitor> it = visitors.listIterator(); it.hasNext(); ) {
+                it.set(visitorRegistry.canonical(it.next()));
+            }
+        }
+        rideHistory.addAll(visitors);
+        if (historyIndex != null) {
+            historyIndex.addAll(visitors);
+        }
+        for (int i = 0; i < historyListeners.size(); i++) {
+            historyListeners.get(i).onVisitorsAdded(this, visitors);
+        }
+    }
+
+    /**
+     * Read-only view of the history records (for park-level indexes that start following an existing ride)
+     * @return Unmodifiable history, in history order
+     */
+    List<Visitor> historyView() {
+        return Collections.unmodifiableList(rideHistory);
+    }
+
+    /**
+     * Register a listener for history appends
+     * @param listener Listener to add (ignored if null)
+     */
+    public void addHistoryListener(RideHistoryListener listener) {
+        if (listener != null) {
+            historyListeners.add(listener);
+        }
+    }
+
+    /**
+     * Unregister a history listener
+     * @param listener Listener to remove
+     */
+    public void removeHistoryListener(RideHistoryListener listener) {
+        historyListeners.remove(listener);
+    }
+
+    // ------------------------------ Queue Write-Ahead Log (crash recovery) ------------------------------
+    /**
+     * Start logging queue operations: every queue join, removal and cycle dispatch from now on is appended
+     * to the log and forced to disk every syncEvery entries. An existing log is appended to (after cutting off
+     * a torn tail), so after a crash call replayQueueLog first and then reopen the same file
+     * Checkpoint: exportSnapshot, closeQueueLog, delete the log file, openQueueLog again
+     * The first failed append or sync turns logging off (QUEUE_LOG_FAILED), because later entries could no longer
+     * be trusted to match the queue: the file keeps the operations logged before the failure, so checkpoint
+     * (exportSnapshot) and open a new log to resume
+     * @param filePath Log file path
+     * @param syncEvery Entries per fsync (1 = every operation is durable before the call returns)
+     */
+    public void openQueueLog(String filePath, int syncEvery) {
+        closeQueueLog();
+        try {
+            queueLog = new QueueWriteAheadLog(Paths.get(filePath), syncEvery);
+            emit(RideEvent.Type.QUEUE_LOG_OPENED, null, 0, syncEvery, filePath);
+        } catch (IOException e) {
+            emit(RideEvent.Type.QUEUE_LOG_FAILED, null, 0, 0, e.getMessage());
+        }
+    }
+
+    /**
+     * Force logged entries not yet synced to disk (no-op if the log is off)
+     */
+    public void commitQueueLog() {
+        QueueWriteAheadLog log = queueLog;
+        if (log == null) {
+            return;
+        }
+        synchronized (log) {
+            try {
+                log.sync();
+                emit(RideEvent.Type.QUEUE_LOG_COMMITTED, null, 0, (int) log.getEntryCount(), null);
+            } catch (IOException e) {
+                disableQueueLog(log, null, 0, e);
+            }
+        }
+    }
+
+    /**
+     * Turn the queue log off after a failed append or sync (call while holding the log's lock)
+     * The operation that failed has already changed the queue, so the log is detached and closed rather than left
+     * to drift; only the first failure is reported (other threads may still fail on the closed log)
+     * @param log Log that failed
+     * @param visitor Visitor of the failed operation (null if none)
+     * @param count Riders of a failed dispatch (0 otherwise)
+     * @param error Append/sync error
+     */
+    private void disableQueueLog(QueueWriteAheadLog log, Visitor visitor, int count, IOException error) {
+        if (queueLog != log) {
+            return; // Already disabled or replaced
+        }
+        queueLog = null;
+        try {
+            log.close(); // Keeps entries logged before the failure if the disk accepts them
+        } catch (IOException e) {
+            error.addSuppressed(e);
+        }
+        String reason = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        emit(RideEvent.Type.QUEUE_LOG_FAILED, visitor, 0, count, "Queue log disabled: " + reason);
+    }
+
+    /**
+     * Sync and close the queue log (no-op if the log is off)
+     */
+    public void closeQueueLog() {
+        QueueWriteAheadLog log = queueLog;
+        if (log == null) {
+            return;
+        }
+        queueLog = null;
+        try {
+            log.close();
+        } catch (IOException e) {
+            emit(RideEvent.Type.QUEUE_LOG_FAILED, null, 0, 0, e.getMessage());
+        }
+    }
+
+    /**
+     * Get the open queue log (entry count, fsync count, per-append overhead)
+     * @return Log, or null if logging is off
+     */
+    public QueueWriteAheadLog getQueueLog() {
+        return queueLog;
+    }
+
+    /**
+     * Rebuild queue and history by replaying a queue log on top of the current state (e.g., an empty ride or
+     * the snapshot taken when the log was started). Dispatches move the same riders into history and count
+     * cycles, with no per-visitor events; a torn tail from a crash is ignored
+     * Replay with the same priority lane settings the log was written with, and before reopening the log
+     * @param filePath Log file path
+     */
+    public void replayQueueLog(String filePath) {
+        int[] entries = {0};
+        QueueWriteAheadLog.Handler handler = new QueueWriteAheadLog.Handler() {
+            @Override
+            public void onEnqueue(Visitor visitor) {
+                if (visitorRegistry != null) {
+                    visitor = visitorRegistry.canonical(visitor);
+                }
+                waitingLine.offer(visitor, clock.getAsLong());
+                entries[0]++;
+            }
+
+            @Override
+            public void onRemove() {
+                if (waitingLine.poll() != null) {
+                    queueDequeued.incrementAndGet();
+                }
+                entries[0]++;
+            }
+
+            @Override
+            public void onDispatch(int riders) {
+                List<Visitor> batch = new ArrayList<>(riders);
+                Visitor next;
+                while (batch.size() < riders && (next = waitingLine.poll()) != null) {
+                    batch.add(next);
+                }
+                queueDequeued.addAndGet(batch.size());
+                appendToHistory(batch);
+                numOfCycles++;
+                entries[0]++;
+            }
+        };
+        try {
+            QueueWriteAheadLog.replay(Paths.get(filePath), handler);
+        } catch (IOException e) {
+            emit(RideEvent.Type.QUEUE_LOG_FAILED, null, 0, entries[0], e.getMessage());
+            return;
+        }
+        if (eventSink.isEnabled()) {
+            eventSink.publish(new RideEvent(RideEvent.Type.QUEUE_LOG_REPLAYED, rideName, null, 0,
+                    entries[0], waitingLine.size(), filePath));
+        }
+    }
+
+    // ------------------------------ History Journal (incremental checkpoints) ------------------------------
+    /**
+     * Start journaling: every record appended to history from now on is appended to the journal file
+     * Records are forced to disk in groups of groupSize (group commit); replay with importRideHistory(filePath)
+     * Replay an existing journal before opening it, otherwise the replayed records are journaled again
+     * @param filePath Journal file (appended to if it exists)
+     * @param groupSize Records per disk flush
+     */
+    public void openHistoryJournal(String filePath, int groupSize) {
+        closeHistoryJournal();
+        try {
+            historyJournal = new HistoryJournal(filePath, groupSize);
+            addHistoryListener(historyJournal);
+            emit(RideEvent.Type.JOURNAL_OPENED, null, 0, groupSize, filePath);
+        } catch (IOException e) {
+            emit(RideEvent.Type.JOURNAL_FAILED, null, 0, 0, e.getMessage());
+        }
+    }
+
+    /**
+     * Checkpoint the journal: force records not yet committed to disk (cost proportional to new records only)
+     */
+    public void commitHistoryJournal() {
+        if (historyJournal == null) {
+            return;
+        }
+        try {
+            historyJournal.commit(); // Rethrows the error that closed the journal, if any
+            emit(RideEvent.Type.JOURNAL_COMMITTED, null, 0, (int) historyJournal.getRecordCount(), null);
+        } catch (IOException e) {
+            emit(RideEvent.Type.JOURNAL_FAILED, null, 0, 0, e.getMessage());
+        }
+    }
+
+    /**
+     * Commit and close the journal (no-op if journaling is off)
+     */
+    public void closeHistoryJournal() {
+        if (historyJournal == null) {
+            return;
+        }
+        removeHistoryListener(historyJournal);
+        try {
+            historyJournal.close();
+            if (historyJournal.getLastError() != null) {
+                throw historyJournal.getLastError();
+            }
+        } catch (IOException e) {
+            emit(RideEvent.Type.JOURNAL_FAILED, null, 0, 0, e.getMessage());
+        }
+        historyJournal = null;
+    }
+
+    /**
+     * Append records parsed elsewhere (e.g., by ParallelHistoryImporter) as one import
+     * @param visitors Parsed records, in file order
+     * @param source File they came from (for the import event)
+     */
+    void appendImportedHistory(List<Visitor> visitors, String source) {
+        appendToHistory(visitors);
+        emit(RideEvent.Type.IMPORTED, null, 0, visitors.size(), source);
+    }
+
+    // ------------------------------ Snapshot (fast restart) ------------------------------
+    /**
+     * Save the complete ride state (operator, settings, cycle count, queue order, history) to a snapshot file
+     * Written to a temporary file and atomically moved into place, so an existing snapshot is never half-replaced
+     * @param filePath Snapshot file (e.g., "roller_coaster.snap")
+     */
+    public void exportSnapshot(String filePath) {
+        SpillingVisitorHistory bounded = isBoundedHistory() ? (SpillingVisitorHistory) rideHistory : null;
+        PriorityLaneQueue lanes = waitingLine instanceof PriorityLaneQueue ? (PriorityLaneQueue) waitingLine : null;
+        RideSnapshot snapshot = new RideSnapshot(operator, rideName, rideType, maxRider, numOfCycles,
+                concurrentQueue, laneWeights, lanes == null ? 0 : lanes.getCurrentLane(),
+                lanes == null ? 0 : lanes.getCreditLeft(), isColumnarHistory(), sortedView != null,
+                bounded == null ? 0 : bounded.getMaxInMemory(),
+                bounded == null ? null : bounded.getSegmentPath().toString(),
+                new ArrayList<>(waitingLine), rideHistory);
+        try {
+            snapshot.write(Paths.get(filePath));
+        } catch (IOException e) {
+            emit(RideEvent.Type.SNAPSHOT_FAILED, null, 0, 0, e.getMessage());
+            return;
+        }
+        emit(RideEvent.Type.SNAPSHOT_SAVED, null, 0, rideHistory.size(), filePath);
+    }
+
+    /**
+     * Replace this ride's state with a snapshot saved by exportSnapshot (one sequential read)
+     * The file is fully read and checked before anything changes; on failure the ride is left as it was
+     * History listeners are not notified (the restored history replaces the old one), metrics are reset,
+     * and restored visitors start waiting now
+     * @param filePath Snapshot file
+     */
+    public void importSnapshot(String filePath) {
+        RideSnapshot snapshot;
+        try {
+            snapshot = RideSnapshot.read(Paths.get(filePath));
+        } catch (IOException e) {
+            emit(RideEvent.Type.SNAPSHOT_FAILED, null, 0, 0, e.getMessage());
+            return;
+        }
+        setBoundedHistory(0, null);
+        setSortedHistoryView(false);
+        this.operator = snapshot.getOperator();
+        this.rideName = snapshot.getRideName();
+        this.rideType = snapshot.getRideType();
+        this.maxRider = snapshot.getMaxRider();
+        this.numOfCycles = snapshot.getNumOfCycles();
+        this.concurrentQueue = snapshot.isConcurrentQueue();
+        this.laneWeights = snapshot.getLaneWeights();
+
+        // Queue: same order, new enqueue stamps
+        this.waitingLine = new FifoWaitingLine(false);
+        rebuildWaitingLine();
+        resetMetrics();
+        long now = clock.getAsLong();
+        for (Visitor visitor : snapshot.getQueue()) {
+            if (visitorRegistry != null) {
+                visitor = visitorRegistry.canonical(visitor);
+            }
+            waitingLine.offer(visitor, now);
+        }
+        if (waitingLine instanceof PriorityLaneQueue) {
+            ((PriorityLaneQueue) waitingLine).setRoundRobinPosition(snapshot.getLaneCursor(), snapshot.getLaneCredit());
+        }
+
+        // History: the snapshot's store is used as-is, then the saved history settings
+        List<Visitor> history = snapshot.getHistory();
+        if (visitorRegistry != null && !snapshot.isColumnarHistory()) {
+            for (ListIterator<Visitor> it = history.listIterator(); it.hasNext(); ) {
+                it.set(visitorRegistry.canonical(it.next()));
+            }
+        }
+        this.rideHistory = history;
+        this.historyGeneration++;
+        this.historyIndex = new VisitorIndex();
+        historyIndex.rebuild(history);
+        if (snapshot.getBoundedCapacity() > 0) {
+            setBoundedHistory(snapshot.getBoundedCapacity(), snapshot.getSpillFile());
+        }
+        setSortedHistoryView(snapshot.isSortedHistoryView());
+        emit(RideEvent.Type.SNAPSHOT_RESTORED, null, 0, rideHistory.size(), filePath);
     }
 
     // ------------------------------ Part6: Export Ride History to File ------------------------------
@@ -292,7 +1431,7 @@ public class Ride implements RideInterface {
      */
     public void exportRideHistory(String filePath) {
         if (rideHistory.isEmpty()) {
-            System.out.println("[Failed] " + rideName + " history is empty—cannot export");
+            emit(RideEvent.Type.EXPORT_SKIPPED_EMPTY, null, 0, 0, null);
             return;
         }
 
@@ -306,10 +1445,76 @@ public class Ride implements RideInterface {
                 writer.write(visitor.toCsvString());
                 writer.newLine();
             }
-            System.out.println("[Success] " + rideName + " history exported to: " + filePath);
+            emit(RideEvent.Type.EXPORTED, null, 0, rideHistory.size(), filePath);
         } catch (IOException e) {
             // Catch IO exceptions (file not found/permissions)
-            System.out.println("[Error] Failed to export file: " + e.getMessage());
+            emit(RideEvent.Type.EXPORT_FAILED, null, 0, 0, e.getMessage());
+        }
+    }
+
+    /**
+     * Export ride history to CSV in the background (same file format as exportRideHistory)
+     * Only the record references are copied on the calling thread; encoding (into pooled direct buffers) and
+     * writing (AsynchronousFileChannel) happen off-thread, so queue and cycle operations keep running
+     * Riders added after this call are not part of the export
+     * @param filePath File save path (e.g., "ride_history.csv")
+     * @return Future with records/bytes written and duration (completed immediately with zeros if history is empty)
+     */
+    public CompletableFuture<CsvExportStats> exportRideHistoryAsync(String filePath) {
+        if (rideHistory.isEmpty()) {
+            emit(RideEvent.Type.EXPORT_SKIPPED_EMPTY, null, 0, 0, null);
+            return CompletableFuture.completedFuture(new CsvExportStats(0, 0, 0));
+        }
+        Visitor[] records = rideHistory.toArray(new Visitor[0]); // Consistent snapshot
+        return AsyncHistoryExporter.exportCsv(records, Paths.get(filePath)).whenComplete((stats, error) -> {
+            if (error != null) {
+                emit(RideEvent.Type.EXPORT_FAILED, null, 0, 0, String.valueOf(error.getMessage()));
+            } else {
+                emit(RideEvent.Type.EXPORTED, null, 0, stats.getExported(), filePath);
+            }
+        });
+    }
+
+    /**
+     * Export ride history to the compact binary format (binary counterpart of exportRideHistory)
+     * Repeating Strings are stored once in a dictionary, unique IDs inline, ages as varints, records in CRC-checked blocks
+     * @param filePath File save path (e.g., "ride_history.rhb")
+     */
+    public void exportRideHistoryBinary(String filePath) {
+        if (rideHistory.isEmpty()) {
+            emit(RideEvent.Type.EXPORT_SKIPPED_EMPTY, null, 0, 0, null);
+            return;
+        }
+        try (BinaryHistoryWriter writer = new BinaryHistoryWriter(new FileOutputStream(filePath))) {
+            for (Visitor visitor : rideHistory) {
+                writer.write(visitor);
+            }
+        } catch (IOException e) {
+            emit(RideEvent.Type.EXPORT_FAILED, null, 0, 0, e.getMessage());
+            return;
+        }
+        emit(RideEvent.Type.EXPORTED, null, 0, rideHistory.size(), filePath);
+    }
+
+    /**
+     * Export ride history as gzip-compressed CSV, compressing chunks in parallel (one core per chunk)
+     * Each chunk is an independent gzip member, so gzip -dc / zcat read the file as the exportRideHistory CSV (UTF-8)
+     * @param filePath File save path (e.g., "ride_history.csv.gz")
+     * @return Records and compressed bytes written, and duration (null if history is empty or the write failed)
+     */
+    public CsvExportStats exportRideHistoryCompressed(String filePath) {
+        if (rideHistory.isEmpty()) {
+            emit(RideEvent.Type.EXPORT_SKIPPED_EMPTY, null, 0, 0, null);
+            return null;
+        }
+        Visitor[] records = rideHistory.toArray(new Visitor[0]);
+        try {
+            CsvExportStats stats = new ParallelGzipHistoryCodec().write(records, Paths.get(filePath));
+            emit(RideEvent.Type.EXPORTED, null, 0, stats.getExported(), filePath);
+            return stats;
+        } catch (IOException e) {
+            emit(RideEvent.Type.EXPORT_FAILED, null, 0, 0, e.getMessage());
+            return null;
         }
     }
 
@@ -323,7 +1528,7 @@ public class Ride implements RideInterface {
         File file = new File(filePath);
         // Check if file exists
         if (!file.exists()) {
-            System.out.println("[Failed] File not found: " + filePath);
+            emit(RideEvent.Type.IMPORT_FILE_NOT_FOUND, null, 0, 0, filePath);
             return;
         }
 
@@ -339,19 +1544,96 @@ public class Ride implements RideInterface {
                 // Parse CSV to Visitor
                 Visitor visitor = Visitor.fromCsvString(line);
                 if (visitor != null) {
-                    rideHistory.add(visitor);
+                    appendToHistory(visitor);
                     importedCount++;
                 } else {
-                    System.out.println("[Warning] Skipping invalid record: " + line);
+                    emit(RideEvent.Type.IMPORT_RECORD_SKIPPED, null, 0, 0, line);
                 }
             }
-            System.out.println("[Success] Imported " + importedCount + " records from " + filePath + " to " + rideName);
+            emit(RideEvent.Type.IMPORTED, null, 0, importedCount, filePath);
         } catch (IOException e) {
             // Catch IO exceptions (file read failure)
-            System.out.println("[Error] Failed to import file: " + e.getMessage());
+            emit(RideEvent.Type.IMPORT_FAILED, null, 0, 0, e.getMessage());
         } catch (NumberFormatException e) {
             // Catch age parsing exceptions (non-numeric age)
-            System.out.println("[Error] Invalid record format (age not numeric): " + e.getMessage());
+            emit(RideEvent.Type.IMPORT_BAD_NUMBER, null, 0, 0, e.getMessage());
+        }
+    }
+
+    /**
+     * Import ride history from CSV file through a memory-mapped byte scanner (fast path of Part7)
+     * Accepts the same rows as importRideHistory but avoids per-line Strings, split() and parseInt();
+     * malformed rows are counted and reported once instead of one warning per row
+     * @param filePath File path (e.g., "ride_history.csv")
+     * @return Import counters (null if the file is missing or unreadable)
+     */
+    public CsvImportStats importRideHistoryMapped(String filePath) {
+        Path path = Paths.get(filePath);
+        if (!Files.isRegularFile(path)) {
+            emit(RideEvent.Type.IMPORT_FILE_NOT_FOUND, null, 0, 0, filePath);
+            return null;
+        }
+        try {
+            CsvImportStats stats = new MappedCsvHistoryReader().read(path, this::appendToHistory);
+            if (stats.getMalformed() > 0) {
+                emit(RideEvent.Type.IMPORT_ROWS_REJECTED, null, 0, stats.getMalformed(), filePath);
+            }
+            emit(RideEvent.Type.IMPORTED, null, 0, stats.getImported(), filePath);
+            return stats;
+        } catch (IOException e) {
+            emit(RideEvent.Type.IMPORT_FAILED, null, 0, 0, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Import gzip-compressed CSV history (written by exportRideHistoryCompressed, or any gzip of a history CSV)
+     * Chunks from exportRideHistoryCompressed are inflated and parsed in parallel; other gzip files are read
+     * sequentially. Rows are accepted as in importRideHistoryMapped; a corrupted file adds no records
+     * @param filePath File path (e.g., "ride_history.csv.gz")
+     * @return Import counters (null if the file is missing, unreadable or corrupted)
+     */
+    public CsvImportStats importRideHistoryCompressed(String filePath) {
+        Path path = Paths.get(filePath);
+        if (!Files.isRegularFile(path)) {
+            emit(RideEvent.Type.IMPORT_FILE_NOT_FOUND, null, 0, 0, filePath);
+            return null;
+        }
+        List<Visitor> imported = new ArrayList<>();
+        CsvImportStats stats;
+        try {
+            stats = new ParallelGzipHistoryCodec().read(path, imported::add);
+        } catch (IOException e) {
+            emit(RideEvent.Type.IMPORT_FAILED, null, 0, 0, e.getMessage());
+            return null;
+        }
+        appendToHistory(imported);
+        if (stats.getMalformed() > 0) {
+            emit(RideEvent.Type.IMPORT_ROWS_REJECTED, null, 0, stats.getMalformed(), filePath);
+        }
+        emit(RideEvent.Type.IMPORTED, null, 0, stats.getImported(), filePath);
+        return stats;
+    }
+
+    /**
+     * Import ride history from the compact binary format (written by exportRideHistoryBinary)
+     * A corrupted or truncated file is rejected as a whole: no records are added
+     * @param filePath File path (e.g., "ride_history.rhb")
+     */
+    public void importRideHistoryBinary(String filePath) {
+        File file = new File(filePath);
+        if (!file.exists()) {
+            emit(RideEvent.Type.IMPORT_FILE_NOT_FOUND, null, 0, 0, filePath);
+            return;
+        }
+        List<Visitor> imported = new ArrayList<>();
+        try (InputStream in = new FileInputStream(file)) {
+            new BinaryHistoryReader(in, file.length()).readAll(imported::add);
+        } catch (IOException e) {
+            emit(RideEvent.Type.IMPORT_FAILED, null, 0, 0, e.getMessage());
+            return;
         }
+        appendToHistory(imported);
+        emit(RideEvent.Type.IMPORTED, null, 0, imported.size(), filePath);
     }
 }
\ No newline at end of file
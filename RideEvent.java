@@ -0,0 +1,124 @@
+/**
+ * Structured ride event (published by Ride to a RideEventSink instead of printing pre-formatted strings)
+ * Carries raw fields only; text is produced by the sink, so a disabled sink never pays for formatting
+ */
+public class RideEvent {
+    /**
+     * Kinds of events a Ride can publish
+     */
+    public enum Type {
+        QUEUE_ADDED, QUEUE_NULL_REJECTED, QUEUE_REMOVED, QUEUE_EMPTY_ON_REMOVE,
+        QUEUE_ADMISSION_REJECTED, QUEUE_BATCH_ADMITTED,
+        HISTORY_ADDED, HISTORY_NULL_REJECTED,
+        SORT_SKIPPED_EMPTY, HISTORY_SORTED, SORT_UNSUPPORTED,
+        NO_OPERATOR, NO_SEATS, QUEUE_EMPTY_ON_RUN, CYCLE_STARTED, CYCLE_COMPLETED, BULK_RUN_COMPLETED,
+        EXPORT_SKIPPED_EMPTY, EXPORTED, EXPORT_FAILED,
+        IMPORT_FILE_NOT_FOUND, IMPORT_RECORD_SKIPPED, IMPORT_ROWS_REJECTED, IMPORTED, IMPORT_FAILED, IMPORT_BAD_NUMBER,
+        JOURNAL_OPENED, JOURNAL_COMMITTED, JOURNAL_FAILED,
+        SPILL_FAILED,
+        SNAPSHOT_SAVED, SNAPSHOT_RESTORED, SNAPSHOT_FAILED,
+        QUEUE_LOG_OPENED, QUEUE_LOG_COMMITTED, QUEUE_LOG_REPLAYED, QUEUE_LOG_FAILED
+    }
+
+    // Event kind
+    private final Type type;
+    // Name of the ride that published the event
+    private final String rideName;
+    // Visitor involved (null if not visitor-specific)
+    private final Visitor visitor;
+    // Cycle number or cycles run (0 if not applicable)
+    private final int cycle;
+    // Riders/records involved (0 if not applicable)
+    private final int count;
+    // Visitors left waiting (0 if not applicable)
+    private final int remaining;
+    // Free-form detail: file path, error message or raw record (null if not applicable)
+    private final String detail;
+
+    /**
+     * Parameterized constructor (initializes all fields)
+     * @param type Event kind
+     * @param rideName Ride name
+     * @param visitor Visitor involved
+     * @param cycle Cycle number or cycles run
+     * @param count Riders/records involved
+     * @param remaining Visitors left waiting
+     * @param detail File path, error message or raw record
+     */
+    public RideEvent(Type type, String rideName, Visitor visitor, int cycle, int count, int remaining, String detail) {
+        this.type = type;
+        this.rideName = rideName;
+        this.visitor = visitor;
+        this.cycle = cycle;
+        this.count = count;
+        this.remaining = remaining;
+        this.detail = detail;
+    }
+
+    // ------------------------------ Getter ------------------------------
+    /**
+     * Get the event kind
+     * @return type (Type)
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Get the ride name
+     * @return rideName (String)
+     */
+    public String getRideName() {
+        return rideName;
+    }
+
+    /**
+     * Get the visitor involved
+     * @return visitor (null if not visitor-specific)
+     */
+    public Visitor getVisitor() {
+        return visitor;
+    }
+
+    /**
+     * Get the cycle number (or cycles run for bulk runs)
+     * @return cycle (int)
+     */
+    public int getCycle() {
+        return cycle;
+    }
+
+    /**
+     * Get the number of riders/records involved
+     * @return count (int)
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Get the number of visitors left waiting
+     * @return remaining (int)
+     */
+    public int getRemaining() {
+        return remaining;
+    }
+
+    /**
+     * Get the detail text (file path, error message or raw record)
+     * @return detail (null if not applicable)
+     */
+    public String getDetail() {
+        return detail;
+    }
+
+    /**
+     * Override toString for debugging
+     * @return Event fields as String
+     */
+    @Override
+    public String toString() {
+        return "RideEvent{type=" + type + ", rideName='" + rideName + "', visitor=" + visitor + ", cycle=" + cycle
+                + ", count=" + count + ", remaining=" + remaining + ", detail='" + detail + "'}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+/**
+ * Destination for structured ride events (replaces direct System.out calls in Ride)
+ * Implementations: NoOpRideEventSink (discard), ConsoleRideEventSink (print), AsyncRideEventSink (background thread)
+ */
+public interface RideEventSink {
+    /**
+     * Check if events are wanted at all (Ride skips creating events when false)
+     * @return true = publish events, false = drop them before they are created
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Receive one event
+     * @param event Event published by a Ride (non-null)
+     */
+    void publish(RideEvent event);
+}
\ No newline at end of file
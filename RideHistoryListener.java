@@ -0,0 +1,26 @@
+import java.util.List;
+
+/**
+ * Listener notified whenever records are appended to a Ride's history
+ * (addVisitorToHistory, runOneCycle, bulk runs and imports all go through the same notification)
+ * Design purpose: Lets journals/indexes follow history incrementally instead of rescanning it
+ */
+public interface RideHistoryListener {
+    /**
+     * Called after one record is appended
+     * @param ride Ride whose history grew
+     * @param visitor Appended record
+     */
+    void onVisitorAdded(Ride ride, Visitor visitor);
+
+    /**
+     * Called after a batch of records is appended (default: one onVisitorAdded call per record)
+     * @param ride Ride whose history grew
+     * @param visitors Appended records, in history order
+     */
+    default void onVisitorsAdded(Ride ride, List<Visitor> visitors) {
+        for (Visitor visitor : visitors) {
+            onVisitorAdded(ride, visitor);
+        }
+    }
+}
\ No newline at end of file
@@ -1,3 +1,6 @@
+import java.io.IOException;
+import java.util.function.Predicate;
+
 /**
  * 游乐设施核心行为接口（对应评估Part2要求）
  * 定义队列管理、乘坐记录管理、设施运行的标准化方法，强制Ride类实现统一行为
@@ -20,6 +23,30 @@ public interface RideInterface {
      */
     void printQueue();
 
+    /**
+     * 按偏移量分页输出等待队列（只渲染一页，直接写入out，不为每个访客构建中间字符串）
+     * 每行格式与printQueue相同：序号. 访客信息
+     * @param offset 跳过的匹配访客数（从0开始）
+     * @param pageSize 每页最多访客数（>0）
+     * @param filter 访客过滤条件（null=全部访客）
+     * @param out 输出目标（如StringBuilder、Writer）
+     * @return 分页结果（渲染数量、下一页偏移量与续页令牌）
+     * @throws IOException 写入out失败时抛出
+     */
+    VisitorPage pageQueue(long offset, int pageSize, Predicate<Visitor> filter, Appendable out) throws IOException;
+
+    /**
+     * 按续页令牌输出等待队列的下一页（从上一页停止处继续，已跳过的访客不再重复过滤，但迭代器仍需前进到该位置）
+     * @param continuationToken 上一页pageQueue返回的令牌
+     * @param pageSize 每页最多访客数（>0）
+     * @param filter 访客过滤条件（须与第一页相同，null=全部访客）
+     * @param out 输出目标
+     * @return 分页结果
+     * @throws IOException 写入out失败时抛出
+     */
+    VisitorPage pageQueue(String continuationToken, int pageSize, Predicate<Visitor> filter, Appendable out)
+            throws IOException;
+
     /**
      * 将访客添加到游乐设施乘坐历史记录（对应评估Part4A）
      * @param visitor 乘坐后的访客对象（非null）
@@ -44,6 +71,31 @@ public interface RideInterface {
      */
     void printRideHistory();
 
+    /**
+     * 按偏移量分页输出乘坐历史记录（按记录顺序，只渲染一页，直接写入out）
+     * @param offset 跳过的匹配记录数（从0开始）
+     * @param pageSize 每页最多记录数（>0）
+     * @param filter 记录过滤条件（null=全部记录）
+     * @param out 输出目标（如StringBuilder、Writer）
+     * @return 分页结果（渲染数量、下一页偏移量与续页令牌）
+     * @throws IOException 写入out失败时抛出
+     */
+    VisitorPage pageRideHistory(long offset, int pageSize, Predicate<Visitor> filter, Appendable out)
+            throws IOException;
+
+    /**
+     * 按续页令牌输出乘坐历史记录的下一页（已跳过的记录不再重复过滤；LinkedList历史仍需从较近一端遍历到该位置；
+     * 历史被排序或替换后，旧令牌失效）
+     * @param continuationToken 上一页pageRideHistory返回的令牌
+     * @param pageSize 每页最多记录数（>0）
+     * @param filter 记录过滤条件（须与第一页相同，null=全部记录）
+     * @param out 输出目标
+     * @return 分页结果
+     * @throws IOException 写入out失败时抛出
+     */
+    VisitorPage pageRideHistory(String continuationToken, int pageSize, Predicate<Visitor> filter, Appendable out)
+            throws IOException;
+
     /**
      * 运行游乐设施一个周期（从队列取访客并加入历史记录，对应评估Part5）
      */
@@ -0,0 +1,118 @@
+/**
+ * Snapshot of a ride's wait-time and throughput metrics (returned by Ride.getMetrics)
+ * Wait = time from addVisitorToQueue to being seated by a cycle, measured with the ride's clock
+ */
+public class RideMetrics {
+    // Riders dispatched since metrics were reset
+    private final long riders;
+    // Cycles run since metrics were reset
+    private final int cycles;
+    // Wait percentiles and max (nanoseconds)
+    private final long p50WaitNanos;
+    private final long p90WaitNanos;
+    private final long p99WaitNanos;
+    private final long maxWaitNanos;
+    // Riders per minute between metrics reset and the last cycle
+    private final double ridersPerMinute;
+    // Seats filled: riders / (maxRider × cycles)
+    private final double utilisation;
+
+    /**
+     * Parameterized constructor
+     * @param riders Riders dispatched
+     * @param cycles Cycles run
+     * @param p50WaitNanos Median wait
+     * @param p90WaitNanos 90th percentile wait
+     * @param p99WaitNanos 99th percentile wait
+     * @param maxWaitNanos Longest wait
+     * @param ridersPerMinute Throughput
+     * @param utilisation Seat utilisation (0..1)
+     */
+    public RideMetrics(long riders, int cycles, long p50WaitNanos, long p90WaitNanos, long p99WaitNanos,
+                       long maxWaitNanos, double ridersPerMinute, double utilisation) {
+        this.riders = riders;
+        this.cycles = cycles;
+        this.p50WaitNanos = p50WaitNanos;
+        this.p90WaitNanos = p90WaitNanos;
+        this.p99WaitNanos = p99WaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.ridersPerMinute = ridersPerMinute;
+        this.utilisation = utilisation;
+    }
+
+    /**
+     * Get number of riders dispatched since metrics were reset
+     * @return riders (long)
+     */
+    public long getRiders() {
+        return riders;
+    }
+
+    /**
+     * Get number of cycles run since metrics were reset
+     * @return cycles (int)
+     */
+    public int getCycles() {
+        return cycles;
+    }
+
+    /**
+     * Get the median wait
+     * @return p50WaitNanos (long, nanoseconds)
+     */
+    public long getP50WaitNanos() {
+        return p50WaitNanos;
+    }
+
+    /**
+     * Get the 90th percentile wait
+     * @return p90WaitNanos (long, nanoseconds)
+     */
+    public long getP90WaitNanos() {
+        return p90WaitNanos;
+    }
+
+    /**
+     * Get the 99th percentile wait
+     * @return p99WaitNanos (long, nanoseconds)
+     */
+    public long getP99WaitNanos() {
+        return p99WaitNanos;
+    }
+
+    /**
+     * Get the longest wait
+     * @return maxWaitNanos (long, nanoseconds)
+     */
+    public long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    /**
+     * Get throughput between metrics reset and the last cycle
+     * @return ridersPerMinute (double)
+     */
+    public double getRidersPerMinute() {
+        return ridersPerMinute;
+    }
+
+    /**
+     * Get seat utilisation: riders / (maxRider × cycles)
+     * @return utilisation (double, 0..1)
+     */
+    public double getUtilisation() {
+        return utilisation;
+    }
+
+    /**
+     * Override toString for a one-line summary (waits in seconds)
+     * @return Summary as String
+     */
+    @Override
+    public String toString() {
+        return String.format("RideMetrics{riders=%d, cycles=%d, wait p50=%.1fs p90=%.1fs p99=%.1fs max=%.1fs, "
+                        + "riders/min=%.2f, utilisation=%.1f%%}",
+                riders, cycles, p50WaitNanos / 1e9, p90WaitNanos / 1e9, p99WaitNanos / 1e9, maxWaitNanos / 1e9,
+                ridersPerMinute, utilisation * 100);
+    }
+}
\ No newline at end of file
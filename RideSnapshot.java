@@ -0,0 +1,524 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Complete Ride state for fast restart (written by Ride.exportSnapshot, applied by Ride.importSnapshot)
+ * Captures operator, name/type, maxRider, numOfCycles, queue/history settings (with the priority lanes'
+ * round-robin position), queue order and history
+ * Layout: [magic "RSN1"][version u16][header length int][header][header CRC32 int]
+ *         [queue section][history section][magic again]
+ * Section: [byte length long][record count int][records in the binary history format]
+ * Record sections use the binary history format (dictionary-coded, CRC-checked blocks), so a restore is one
+ * sequential read straight into the ride's history store; the file is written to a temporary sibling and
+ * atomically moved into place. Every length and count read back is checked against the file size before it is used
+ * A columnar history is decoded field by field into the store, without a Visitor per record
+ */
+public class RideSnapshot {
+    // File magic ("RSN1")
+    static final int MAGIC = 0x52534E31;
+    // Format version
+    static final int VERSION = 1;
+    // Bytes before the header: magic, version, header length
+    private static final int PREAMBLE_BYTES = Integer.BYTES + Short.BYTES + Integer.BYTES;
+    // Smallest encoded record (five one-byte varints), bounds a section's record count
+    private static final int MIN_RECORD_BYTES = 5;
+
+    // Operator (null if none)
+    private final Employee operator;
+    private final String rideName;
+    private final String rideType;
+    private final int maxRider;
+    private final int numOfCycles;
+    // Queue/history configuration
+    private final boolean concurrentQueue;
+    private final LinkedHashMap<String, Integer> laneWeights;
+    // Priority lane round-robin position: lane served next and its seats left in the turn
+    private final int laneCursor;
+    private final int laneCredit;
+    private final boolean columnarHistory;
+    private final boolean sortedHistoryView;
+    // Bounded history settings (0 / null = unbounded)
+    private final int boundedCapacity;
+    private final String spillFile;
+    // Waiting visitors in queue iteration order, and history records in history order
+    private final List<Visitor> queue;
+    private final List<Visitor> history;
+
+    /**
+     * Parameterized constructor
+     * @param operator Ride operator (null allowed)
+     * @param rideName Ride name
+     * @param rideType Ride type
+     * @param maxRider Max riders per cycle
+     * @param numOfCycles Cycles completed
+     * @param concurrentQueue Concurrent queue mode
+     * @param laneWeights Priority lane weights (null = single FIFO)
+     * @param laneCursor Lane the round-robin serves next (0 without lanes)
+     * @param laneCredit Seats that lane may still take in its turn (0 without lanes)
+     * @param columnarHistory Columnar history store
+     * @param sortedHistoryView Always-sorted view enabled
+     * @param boundedCapacity Records kept in memory in bounded mode (0 = unbounded)
+     * @param spillFile Bounded mode segment file (null if unbounded)
+     * @param queue Waiting visitors, in queue order
+     * @param history History records, in history order
+     */
+    public RideSnapshot(Employee operator, String rideName, String rideType, int maxRider, int numOfCycles,
+                        boolean concurrentQueue, LinkedHashMap<String, Integer> laneWeights, int laneCursor,
+                        int laneCredit, boolean columnarHistory, boolean sortedHistoryView, int boundedCapacity,
+                        String spillFile, List<Visitor> queue, List<Visitor> history) {
+        this.operator = operator;
+        this.rideName = rideName;
+        this.rideType = rideType;
+        this.maxRider = maxRider;
+        this.numOfCycles = numOfCycles;
+        this.concurrentQueue = concurrentQueue;
+        this.laneWeights = laneWeights;
+        this.laneCursor = laneCursor;
+        this.laneCredit = laneCredit;
+        this.columnarHistory = columnarHistory;
+        this.sortedHistoryView = sortedHistoryView;
+        this.boundedCapacity = boundedCapacity;
+        this.spillFile = spillFile;
+        this.queue = queue;
+        this.history = history;
+    }
+
+    // ------------------------------ Getters ------------------------------
+    /**
+     * Get the ride operator
+     * @return Operator (Employee; null if none)
+     */
+    public Employee getOperator() {
+        return operator;
+    }
+
+    /**
+     * Get the ride name
+     * @return rideName (String)
+     */
+    public String getRideName() {
+        return rideName;
+    }
+
+    /**
+     * Get the ride type
+     * @return rideType (String)
+     */
+    public String getRideType() {
+        return rideType;
+    }
+
+    /**
+     * Get max riders per cycle
+     * @return maxRider (int)
+     */
+    public int getMaxRider() {
+        return maxRider;
+    }
+
+    /**
+     * Get number of cycles completed
+     * @return numOfCycles (int)
+     */
+    public int getNumOfCycles() {
+        return numOfCycles;
+    }
+
+    /**
+     * Check if the queue was in concurrent mode
+     * @return true = concurrent queue
+     */
+    public boolean isConcurrentQueue() {
+        return concurrentQueue;
+    }
+
+    /**
+     * Get the priority lane weights (tier → seats per turn, in lane order)
+     * @return Lane weights (null = single FIFO)
+     */
+    public LinkedHashMap<String, Integer> getLaneWeights() {
+        return laneWeights;
+    }
+
+    /**
+     * Get the lane the round-robin serves next
+     * @return laneCursor (int; 0 without lanes)
+     */
+    public int getLaneCursor() {
+        return laneCursor;
+    }
+
+    /**
+     * Get the seats the current lane may still take in its turn
+     * @return laneCredit (int; 0 without lanes)
+     */
+    public int getLaneCredit() {
+        return laneCredit;
+    }
+
+    /**
+     * Check if history used the columnar store
+     * @return true = ColumnarVisitorHistory
+     */
+    public boolean isColumnarHistory() {
+        return columnarHistory;
+    }
+
+    /**
+     * Check if the always-sorted history view was enabled
+     * @return true = sorted view enabled
+     */
+    public boolean isSortedHistoryView() {
+        return sortedHistoryView;
+    }
+
+    /**
+     * Get the records kept in memory in bounded history mode
+     * @return boundedCapacity (int; 0 = unbounded)
+     */
+    public int getBoundedCapacity() {
+        return boundedCapacity;
+    }
+
+    /**
+     * Get the bounded history segment file
+     * @return spillFile (String; null if unbounded)
+     */
+    public String getSpillFile() {
+        return spillFile;
+    }
+
+    /**
+     * Get the waiting visitors
+     * @return Visitors in queue order
+     */
+    public List<Visitor> getQueue() {
+        return queue;
+    }
+
+    /**
+     * Get the history records (after read(): a LinkedList, or a ColumnarVisitorHistory if the ride used one)
+     * @return History records, in history order
+     */
+    public List<Visitor> getHistory() {
+        return history;
+    }
+
+    // ------------------------------ Write ------------------------------
+    /**
+     * Write the snapshot atomically: to a temporary sibling file, forced to disk, then moved over the target
+     * A crash at any point leaves either the previous snapshot or the new one, never a partial file
+     * @param path Snapshot file
+     * @throws IOException If writing or moving fails (the temporary file is removed)
+     */
+    public void write(Path path) throws IOException {
+        Path absolute = path.toAbsolutePath();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+                DataOutputStream data = new DataOutputStream(out);
+                data.writeInt(MAGIC);
+                data.writeShort(VERSION);
+                byte[] header = encodeHeader();
+                CRC32 crc = new CRC32();
+                crc.update(header);
+                data.writeInt(header.length);
+                data.write(header);
+                data.writeInt((int) crc.getValue());
+                data.flush();
+                writeSection(channel, queue);
+                writeSection(channel, history);
+                data.writeInt(MAGIC); // Trailer: a truncated file is detected before anything is applied
+                data.flush();
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Encode the scalar/config fields
+     * @return Header bytes
+     * @throws IOException Never (in-memory stream)
+     */
+    private byte[] encodeHeader() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeString(out, rideName);
+        writeString(out, rideType);
+        out.writeInt(maxRider);
+        out.writeInt(numOfCycles);
+        out.writeBoolean(operator != null);
+        if (operator != null) {
+            writeString(out, operator.getId());
+            writeString(out, operator.getName());
+            out.writeInt(operator.getAge());
+            writeString(out, operator.getEmployeeId());
+            writeString(out, operator.getPosition());
+        }
+        out.writeBoolean(concurrentQueue);
+        out.writeInt(laneWeights == null ? 0 : laneWeights.size());
+        if (laneWeights != null) {
+            for (Map.Entry<String, Integer> lane : laneWeights.entrySet()) {
+                writeString(out, lane.getKey());
+                out.writeInt(lane.getValue());
+            }
+        }
+        out.writeBoolean(columnarHistory);
+        out.writeBoolean(sortedHistoryView);
+        out.writeInt(boundedCapacity);
+        writeString(out, spillFile);
+        out.writeInt(laneCursor);
+        out.writeInt(laneCredit);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Write one record section: length slot and record count, then the records in binary history format,
+     * then patch the length
+     * @param channel Snapshot file channel (positioned at the section start)
+     * @param records Records to write
+     * @throws IOException If writing fails
+     */
+    private static void writeSection(FileChannel channel, List<Visitor> records) throws IOException {
+        long lengthSlot = channel.position();
+        ByteBuffer prefix = ByteBuffer.allocate(Long.BYTES + Integer.BYTES).putInt(Long.BYTES, records.size());
+        channel.write(prefix, lengthSlot);
+        channel.position(lengthSlot + prefix.capacity());
+        OutputStream keepOpen = new FilterOutputStream(Channels.newOutputStream(channel)) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush(); // The snapshot continues after this section
+            }
+        };
+        try (BinaryHistoryWriter writer = new BinaryHistoryWriter(keepOpen)) {
+            for (Visitor visitor : records) {
+                writer.write(visitor);
+            }
+        }
+        long end = channel.position();
+        ByteBuffer length = ByteBuffer.allocate(Long.BYTES).putLong(0, end - lengthSlot - prefix.capacity());
+        channel.write(length, lengthSlot);
+        channel.position(end);
+    }
+
+    // ------------------------------ Read ------------------------------
+    /**
+     * Read a snapshot in one sequential pass (nothing is applied to any Ride here)
+     * History is decoded straight into the store the ride used (LinkedList or ColumnarVisitorHistory)
+     * @param path Snapshot file
+     * @return Snapshot with queue and history loaded
+     * @throws IOException If the file is missing, of another format/version, truncated or corrupted
+     */
+    public static RideSnapshot read(Path path) throws IOException {
+        long remaining = Files.size(path) - PREAMBLE_BYTES; // Bytes after the preamble
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 256 * 1024))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a ride snapshot file (bad magic)");
+            }
+            int version = in.readUnsignedShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported ride snapshot version: " + version);
+            }
+            int headerLength = in.readInt();
+            if (headerLength < 0 || headerLength > remaining - Integer.BYTES) {
+                throw new IOException("Ride snapshot header length " + headerLength + " exceeds the file");
+            }
+            byte[] header = new byte[headerLength];
+            in.readFully(header);
+            CRC32 crc = new CRC32();
+            crc.update(header);
+            if (in.readInt() != (int) crc.getValue()) {
+                throw new IOException("Ride snapshot header is corrupted (CRC mismatch)");
+            }
+            remaining -= headerLength + Integer.BYTES;
+            RideSnapshot settings = decodeHeader(header);
+            List<Visitor> queue = new ArrayList<>();
+            remaining -= readSection(in, queue, remaining);
+            List<Visitor> history = settings.columnarHistory ? new ColumnarVisitorHistory() : new LinkedList<>();
+            readSection(in, history, remaining);
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Ride snapshot is truncated (missing trailer)");
+            }
+            return new RideSnapshot(settings.operator, settings.rideName, settings.rideType, settings.maxRider,
+                    settings.numOfCycles, settings.concurrentQueue, settings.laneWeights, settings.laneCursor,
+                    settings.laneCredit, settings.columnarHistory, settings.sortedHistoryView,
+                    settings.boundedCapacity, settings.spillFile, queue, history);
+        } catch (EOFException e) {
+            throw new IOException("Ride snapshot is truncated", e);
+        }
+    }
+
+    /**
+     * Decode the scalar/config fields (queue and history are left null)
+     * Lane settings are validated here, so a bad file is rejected before importSnapshot changes the ride
+     * @param header Header bytes
+     * @return Snapshot settings
+     * @throws IOException If the header is malformed or holds invalid lane settings
+     */
+    private static RideSnapshot decodeHeader(byte[] header) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(header));
+        String rideName = readString(in);
+        String rideType = readString(in);
+        int maxRider = in.readInt();
+        int numOfCycles = in.readInt();
+        Employee operator = null;
+        if (in.readBoolean()) {
+            operator = new Employee(readString(in), readString(in), in.readInt(), readString(in), readString(in));
+        }
+        boolean concurrentQueue = in.readBoolean();
+        int lanes = in.readInt();
+        if (lanes < 0 || lanes > header.length) {
+            throw new IOException("Ride snapshot header is corrupted (" + lanes + " priority lanes)");
+        }
+        LinkedHashMap<String, Integer> laneWeights = lanes == 0 ? null : new LinkedHashMap<>();
+        for (int i = 0; i < lanes; i++) {
+            String tier = readString(in);
+            int weight = in.readInt();
+            if (weight <= 0) {
+                throw new IOException("Ride snapshot has an invalid lane weight for tier " + tier + ": " + weight);
+            }
+            laneWeights.put(tier, weight);
+        }
+        boolean columnarHistory = in.readBoolean();
+        boolean sortedHistoryView = in.readBoolean();
+        int boundedCapacity = in.readInt();
+        String spillFile = readString(in);
+        int laneCursor = in.readInt();
+        int laneCredit = in.readInt();
+        if (lanes == 0 ? laneCursor != 0 || laneCredit != 0
+                : laneCursor < 0 || laneCursor >= lanes || laneCredit < 0
+                || laneCredit > new ArrayList<>(laneWeights.values()).get(laneCursor)) {
+            throw new IOException("Ride snapshot has an invalid lane position: lane " + laneCursor
+                    + ", credit " + laneCredit);
+        }
+        return new RideSnapshot(operator, rideName, rideType, maxRider, numOfCycles, concurrentQueue, laneWeights,
+                laneCursor, laneCredit, columnarHistory, sortedHistoryView, boundedCapacity, spillFile, null, null);
+    }
+
+    /**
+     * Read one record section (the binary reader only sees this section's bytes)
+     * @param in Snapshot stream, positioned at the section length
+     * @param records Receives the records in file order
+     * @param remaining Bytes of the file left from the section start
+     * @return Bytes the section took, prefix included
+     * @throws IOException If the section is truncated, corrupted, larger than the file or has the wrong record count
+     */
+    private static long readSection(DataInputStream in, List<Visitor> records, long remaining) throws IOException {
+        long length = in.readLong();
+        int expected = in.readInt();
+        long available = remaining - Long.BYTES - Integer.BYTES;
+        if (length < 0 || length > available || expected < 0 || (long) expected * MIN_RECORD_BYTES > length) {
+            throw new IOException("Ride snapshot section is corrupted (" + expected + " records in " + length
+                    + " bytes, " + available + " bytes left)");
+        }
+        if (records instanceof ArrayList) {
+            ((ArrayList<Visitor>) records).ensureCapacity(expected);
+        }
+        BinaryHistoryReader reader = new BinaryHistoryReader(new SectionInputStream(in, length), length);
+        long read = records instanceof ColumnarVisitorHistory
+                ? reader.readFields(((ColumnarVisitorHistory) records)::addRecord) // No Visitor per record
+                : reader.readAll(records::add);
+        if (read != expected) {
+            throw new IOException("Ride snapshot section has " + read + " records, expected " + expected);
+        }
+        return Long.BYTES + Integer.BYTES + length;
+    }
+
+    /**
+     * Write a nullable String
+     * @param out Destination
+     * @param value String (null allowed)
+     * @throws IOException If writing fails
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    /**
+     * Read a nullable String
+     * @param in Source
+     * @return String (null if written as null)
+     * @throws IOException If reading fails
+     */
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Input limited to one section of the snapshot (closing it does not close the snapshot stream)
+     */
+    private static final class SectionInputStream extends FilterInputStream {
+        // Bytes left in the section
+        private long remaining;
+
+        SectionInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = in.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(in.available(), remaining);
+        }
+
+        @Override
+        public void close() {
+            // Section end is not stream end
+        }
+    }
+}
\ No newline at end of file
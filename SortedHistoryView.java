@@ -0,0 +1,103 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Always-sorted view of a ride history (listener kept in step with every history append)
+ * Sorted order: VisitorComparator (age, then name case-insensitive), then arrival order, i.e. exactly the order a
+ * stable sort of the history with VisitorComparator gives (so sortRideHistory is the same with or without the view)
+ * Backed by a lock-free ConcurrentSkipListSet, so each append lands in sorted position in O(log n)
+ * and readers iterate a weakly consistent view without blocking the writer
+ * The original insertion order is kept separately (insertionOrder())
+ */
+public class SortedHistoryView implements RideHistoryListener {
+    // Sorted records (seq makes repeat rides of the same visitor distinct entries)
+    private final ConcurrentSkipListSet<Entry> sorted;
+    // Records in the order they were appended
+    private final ConcurrentLinkedQueue<Visitor> insertionOrder;
+    // Arrival counter (last tiebreaker)
+    private final AtomicLong sequence;
+
+    /**
+     * Default constructor (creates an empty view)
+     */
+    public SortedHistoryView() {
+        Comparator<Visitor> byVisitor = new VisitorComparator();
+        Comparator<Entry> order = (a, b) -> {
+            int cmp = byVisitor.compare(a.visitor, b.visitor);
+            return cmp != 0 ? cmp : Long.compare(a.seq, b.seq); // Ties keep arrival order, like a stable sort
+        };
+        this.sorted = new ConcurrentSkipListSet<>(order);
+        this.insertionOrder = new ConcurrentLinkedQueue<>();
+        this.sequence = new AtomicLong();
+    }
+
+    /**
+     * Insert one record in sorted position and at the end of the insertion-order view
+     * @param ride Ride whose history grew
+     * @param visitor Appended record
+     */
+    @Override
+    public void onVisitorAdded(Ride ride, Visitor visitor) {
+        add(visitor);
+    }
+
+    /**
+     * Insert one record (also used to seed the view from an existing history)
+     * @param visitor Record to add
+     */
+    public void add(Visitor visitor) {
+        sorted.add(new Entry(visitor, sequence.getAndIncrement()));
+        insertionOrder.offer(visitor);
+    }
+
+    /**
+     * Get number of records in the view
+     * @return Record count (long)
+     */
+    public long size() {
+        return sequence.get();
+    }
+
+    /**
+     * Iterate records in sorted order (weakly consistent: never throws on concurrent appends)
+     * @return Sorted view
+     */
+    public Iterable<Visitor> sorted() {
+        return () -> new Iterator<Visitor>() {
+            private final Iterator<Entry> entries = sorted.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            public Visitor next() {
+                return entries.next().visitor;
+            }
+        };
+    }
+
+    /**
+     * Iterate records in the order they were appended
+     * @return Insertion-order view (read-only)
+     */
+    public Iterable<Visitor> insertionOrder() {
+        return Collections.unmodifiableCollection(insertionOrder);
+    }
+
+    /**
+     * Skip-list entry: a record plus its arrival number
+     */
+    private static final class Entry {
+        private final Visitor visitor;
+        private final long seq;
+
+        Entry(Visitor visitor, long seq) {
+            this.visitor = visitor;
+            this.seq = seq;
+        }
+    }
+}
\ No newline at end of file
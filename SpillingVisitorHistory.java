@@ -0,0 +1,429 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Bounded ride history (alternative to LinkedList for Assessment Part4A history on long-running rides)
+ * The most recent records stay in an in-memory ring buffer; older records are spilled in fixed-size blocks
+ * to a segment file (each block encoded with the binary history format), so heap use stays flat
+ * Reads of spilled records decode one block at a time (the last decoded block is cached for sequential reads)
+ * Block metadata lives on disk too: an index file next to the segment ("<segment>.idx") holds one fixed-size entry
+ * per block (start offset + a Bloom filter of its visitorIds, about 2 bytes per record), so the heap holds no
+ * per-block state. visitorId lookups stream the index and only decode blocks whose filter may hold the ID
+ * Both files are scratch space owned by this store: they are truncated on open and deleted by close()
+ * Thread safety: reads (get, iteration, visitorId lookups) may run concurrently with each other, since the block
+ * cache is swapped as one immutable object, but add/clear need exclusive access, like LinkedList
+ * Note: append-only—set()/remove() are unsupported; spill I/O errors surface as UncheckedIOException
+ */
+public class SpillingVisitorHistory extends AbstractList<Visitor> implements Closeable {
+    // Bloom filter bits per spilled record (rounded up to a power of two per block) and probes per visitorId
+    private static final int FILTER_BITS_PER_RECORD = 10;
+    private static final int FILTER_PROBES = 3;
+
+    // Index entries read per chunk while scanning filters (about 64 KB)
+    private static final int SCAN_BYTES = 64 * 1024;
+
+    // Segment file (scratch, owned by this store)
+    private final Path segmentPath;
+    private final FileChannel segment;
+    // Block index file: entry i = start offset of block i (long) + its Bloom filter (filterWords longs)
+    private final Path indexPath;
+    private final FileChannel index;
+    // In-memory ring of the most recent records
+    private final Visitor[] ring;
+    private int ringHead;
+    private int ringSize;
+    // Records per spilled block (every spilled block is full)
+    private final int blockRecords;
+    // Spilled blocks and the end offset of the last one in the segment file
+    private int blockCount;
+    private long segmentEnd;
+    // Longs per block filter (a power of two number of bits) and bytes per index entry
+    private final int filterWords;
+    private final int entryBytes;
+    // Last decoded block (speeds up sequential reads of spilled records; null = none)
+    private volatile DecodedBlock cachedBlock;
+
+    /**
+     * Parameterized constructor (creates/truncates the segment file and its index file)
+     * @param maxInMemory Records kept in memory (≥ 1)
+     * @param segmentPath Segment file for spilled records
+     * @throws IOException If the segment or index file cannot be created
+     */
+    public SpillingVisitorHistory(int maxInMemory, Path segmentPath) throws IOException {
+        if (maxInMemory <= 0) {
+            throw new IllegalArgumentException("In-memory capacity must be positive");
+        }
+        this.segmentPath = segmentPath;
+        this.indexPath = segmentPath.resolveSibling(segmentPath.getFileName() + ".idx");
+        this.segment = openScratch(segmentPath);
+        try {
+            this.index = openScratch(indexPath);
+        } catch (IOException e) {
+            segment.close();
+            throw e;
+        }
+        this.ring = new Visitor[maxInMemory];
+        this.blockRecords = Math.min(maxInMemory, BinaryHistoryWriter.BLOCK_RECORDS);
+        int filterBits = Math.max(64, blockRecords * FILTER_BITS_PER_RECORD);
+        this.filterWords = (Integer.highestOneBit(filterBits - 1) << 1) / 64; // Power of two: bits are masked
+        this.entryBytes = Long.BYTES * (1 + filterWords);
+    }
+
+    /**
+     * Get number of records (in memory + spilled)
+     * @return size (int)
+     */
+    @Override
+    public int size() {
+        return spilledCount() + ringSize;
+    }
+
+    /**
+     * Get number of records kept in memory at most
+     * @return Ring capacity (int)
+     */
+    public int getMaxInMemory() {
+        return ring.length;
+    }
+
+    /**
+     * Get the segment file
+     * @return Segment path
+     */
+    public Path getSegmentPath() {
+        return segmentPath;
+    }
+
+    /**
+     * Get number of records spilled to disk
+     * @return Spilled record count (int)
+     */
+    public int spilledCount() {
+        return blockCount * blockRecords;
+    }
+
+    /**
+     * Append one record (spills the oldest block first if the ring is full)
+     * @param visitor Record to append (non-null)
+     * @return true
+     */
+    @Override
+    public boolean add(Visitor visitor) {
+        Objects.requireNonNull(visitor, "visitor");
+        if (ringSize == ring.length) {
+            spillOldestBlock();
+        }
+        ring[(ringHead + ringSize) % ring.length] = visitor;
+        ringSize++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Get one record (spilled records are decoded from disk)
+     * @param index Record position
+     * @return Record (a fresh Visitor for spilled records)
+     */
+    @Override
+    public Visitor get(int index) {
+        int spilled = spilledCount();
+        if (index < 0 || index >= spilled + ringSize) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        if (index >= spilled) {
+            return ring[(ringHead + index - spilled) % ring.length];
+        }
+        return readBlock(index / blockRecords)[index % blockRecords];
+    }
+
+    /**
+     * Count records with a visitorId (scans memory and the spilled blocks whose filter may hold the ID)
+     * @param visitorId Ticketing system ID
+     * @return Number of matching records
+     */
+    public int countVisitorId(String visitorId) {
+        int count = 0;
+        for (int i = 0; i < ringSize; i++) {
+            if (Objects.equals(ring[(ringHead + i) % ring.length].getVisitorId(), visitorId)) {
+                count++;
+            }
+        }
+        return count + countSpilled(visitorId, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Check if any record has a visitorId (recent records first, stops at the first match)
+     * @param visitorId Ticketing system ID
+     * @return true = present
+     */
+    public boolean containsVisitorId(String visitorId) {
+        for (int i = ringSize - 1; i >= 0; i--) {
+            if (Objects.equals(ring[(ringHead + i) % ring.length].getVisitorId(), visitorId)) {
+                return true;
+            }
+        }
+        return countSpilled(visitorId, 1) > 0;
+    }
+
+    /**
+     * Remove every record and truncate the segment and index files
+     */
+    @Override
+    public void clear() {
+        try {
+            segment.truncate(0);
+            index.truncate(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Arrays.fill(ring, null);
+        ringHead = 0;
+        ringSize = 0;
+        blockCount = 0;
+        segmentEnd = 0;
+        cachedBlock = null;
+        modCount++;
+    }
+
+    /**
+     * Close and delete the segment and index files (spilled records are gone afterwards)
+     * @throws IOException If a file cannot be closed or deleted
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            segment.close();
+            index.close();
+        } finally {
+            Files.deleteIfExists(segmentPath);
+            Files.deleteIfExists(indexPath);
+        }
+    }
+
+    /**
+     * Open a scratch file for reading and writing, emptying it if it exists
+     * @param path File to open
+     * @return Open channel
+     * @throws IOException If the file cannot be opened
+     */
+    private static FileChannel openScratch(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Encode the oldest blockRecords records of the ring, append them to the segment file and add their index entry
+     */
+    private void spillOldestBlock() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(blockRecords * 16);
+        try {
+            try (BinaryHistoryWriter writer = new BinaryHistoryWriter(bytes)) {
+                for (int i = 0; i < blockRecords; i++) {
+                    writer.write(ring[(ringHead + i) % ring.length]);
+                }
+            }
+            long start = segmentEnd;
+            writeFully(segment, ByteBuffer.wrap(bytes.toByteArray()), start);
+            ByteBuffer entry = ByteBuffer.allocate(entryBytes);
+            entry.putLong(0, start);
+            for (int i = 0; i < blockRecords; i++) {
+                addToFilter(entry, filterHash(ring[(ringHead + i) % ring.length].getVisitorId()));
+            }
+            writeFully(index, entry, (long) blockCount * entryBytes);
+            segmentEnd = start + bytes.size();
+            blockCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot spill ride history to " + segmentPath, e);
+        }
+        for (int i = 0; i < blockRecords; i++) {
+            ring[(ringHead + i) % ring.length] = null; // Let spilled records be collected
+        }
+        ringHead = (ringHead + blockRecords) % ring.length;
+        ringSize -= blockRecords;
+    }
+
+    /**
+     * Hash a visitorId for the block filters
+     * @param visitorId Ticketing system ID (null allowed)
+     * @return 64-bit hash (two 32-bit probe hashes)
+     */
+    private static long filterHash(String visitorId) {
+        long hash = (visitorId == null ? 0 : visitorId.hashCode()) * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    /**
+     * Set the filter bits of one visitorId hash in an index entry
+     * @param entry Index entry (filter starts after the block offset)
+     * @param hash Hash from filterHash
+     */
+    private void addToFilter(ByteBuffer entry, long hash) {
+        int mask = filterWords * 64 - 1;
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < FILTER_PROBES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            int word = Long.BYTES * (1 + (bit >>> 6));
+            entry.putLong(word, entry.getLong(word) | 1L << bit);
+        }
+    }
+
+    /**
+     * Check a block's filter (false = the block surely has no record with the visitorId)
+     * @param entries Index entries read from the index file
+     * @param entryStart Position of the block's entry in entries
+     * @param hash Hash from filterHash
+     * @return true = the block may hold the visitorId
+     */
+    private boolean mayContain(ByteBuffer entries, int entryStart, long hash) {
+        int mask = filterWords * 64 - 1;
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < FILTER_PROBES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            if ((entries.getLong(entryStart + Long.BYTES * (1 + (bit >>> 6))) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Count spilled records with a visitorId, newest block first, reading the index file in chunks
+     * Only blocks whose filter may hold the ID are decoded
+     * @param visitorId Ticketing system ID
+     * @param limit Stop once this many matches are found
+     * @return Number of matches found (at most limit once reached)
+     */
+    private int countSpilled(String visitorId, int limit) {
+        int blocks = blockCount;
+        if (blocks == 0) {
+            return 0;
+        }
+        long hash = filterHash(visitorId);
+        int chunkBlocks = Math.max(1, SCAN_BYTES / entryBytes);
+        ByteBuffer entries = ByteBuffer.allocate(Math.min(blocks, chunkBlocks) * entryBytes);
+        int count = 0;
+        try {
+            for (int to = blocks; to > 0; to -= chunkBlocks) {
+                int from = Math.max(0, to - chunkBlocks);
+                entries.clear().limit((to - from) * entryBytes);
+                readFully(index, entries, (long) from * entryBytes, "Index file truncated at block " + from);
+                for (int block = to - 1; block >= from; block--) {
+                    if (!mayContain(entries, (block - from) * entryBytes, hash)) {
+                        continue;
+                    }
+                    for (Visitor visitor : readBlock(block)) {
+                        if (Objects.equals(visitor.getVisitorId(), visitorId) && ++count >= limit) {
+                            return count;
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read ride history index from " + indexPath, e);
+        }
+        return count;
+    }
+
+    /**
+     * Decode one spilled block (cached until another block is read)
+     * @param block Block number
+     * @return Records of the block, in history order
+     */
+    private Visitor[] readBlock(int block) {
+        DecodedBlock cached = cachedBlock;
+        if (cached != null && cached.block == block) {
+            return cached.records;
+        }
+        try {
+            long start = readBlockStart(block);
+            long end = block + 1 < blockCount ? readBlockStart(block + 1) : segmentEnd;
+            byte[] bytes = new byte[(int) (end - start)];
+            readFully(segment, ByteBuffer.wrap(bytes), start, "Segment file truncated at block " + block);
+            Visitor[] records = new Visitor[blockRecords];
+            int[] filled = {0};
+            new BinaryHistoryReader(new ByteArrayInputStream(bytes), bytes.length).readAll(v -> {
+                if (filled[0] < records.length) {
+                    records[filled[0]] = v;
+                }
+                filled[0]++;
+            });
+            if (filled[0] != records.length) {
+                throw new IOException("Block " + block + " has " + filled[0] + " records, expected " + records.length);
+            }
+            cachedBlock = new DecodedBlock(block, records);
+            return records;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read ride history from " + segmentPath, e);
+        }
+    }
+
+    /**
+     * Read a block's start offset from its index entry
+     * @param block Block number
+     * @return Start offset in the segment file
+     * @throws IOException If the index file is shorter than expected
+     */
+    private long readBlockStart(int block) throws IOException {
+        ByteBuffer offset = ByteBuffer.allocate(Long.BYTES);
+        readFully(index, offset, (long) block * entryBytes, "Index file truncated at block " + block);
+        return offset.getLong(0);
+    }
+
+    /**
+     * Write a whole buffer at a file position
+     * @param channel File to write
+     * @param buffer Bytes to write (position to limit)
+     * @param position File position of the first byte
+     * @throws IOException If writing fails
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Fill a buffer from a file position
+     * @param channel File to read
+     * @param buffer Buffer to fill (position to limit)
+     * @param position File position of the first byte
+     * @param truncated Error message if the file ends first
+     * @throws IOException If reading fails or the file ends first
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position, String truncated)
+            throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException(truncated);
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Decoded spilled block (immutable, so concurrent readers never see a block number with another block's records)
+     */
+    private static final class DecodedBlock {
+        private final int block;
+        private final Visitor[] records;
+
+        DecodedBlock(int block, Visitor[] records) {
+            this.block = block;
+            this.records = records;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+import java.util.Arrays;
+
+/**
+ * String dictionary (interns names/IDs to int codes for compact history storage)
+ * Each distinct String is stored once; records keep a 4-byte code instead of a String reference
+ * Codes are found through an open-addressing int[] table, so an entry costs its String plus about 12 bytes
+ * (no HashMap node or boxed Integer), which keeps unique IDs cheap as well
+ * Entries are never removed one by one: a store drops its whole dictionary when it is cleared
+ * Thread-safe: interning is synchronized, lookups read a safely published table without locking
+ */
+public class StringDictionary {
+    // Grow the code table when it is more than half full
+    private static final int MAX_LOAD_PERCENT = 50;
+
+    // Open-addressing table of code + 1 (0 = empty slot; length is a power of two; guarded by this)
+    private int[] slots;
+    // Code → String (replaced on growth; volatile write publishes new entries to lock-free readers)
+    private volatile String[] values;
+    // Number of codes handed out (guarded by this)
+    private int size;
+
+    /**
+     * Default constructor (creates an empty dictionary)
+     */
+    public StringDictionary() {
+        this.slots = new int[128];
+        this.values = new String[64];
+        this.size = 0;
+    }
+
+    /**
+     * Get the code for a String, adding it if unseen
+     * @param value String to intern (null maps to -1)
+     * @return Dictionary code (int)
+     */
+    public synchronized int intern(String value) {
+        if (value == null) {
+            return -1;
+        }
+        String[] table = values;
+        int mask = slots.length - 1;
+        int slot = spread(value.hashCode()) & mask;
+        for (int entry; (entry = slots[slot]) != 0; slot = (slot + 1) & mask) {
+            if (table[entry - 1].equals(value)) {
+                return entry - 1;
+            }
+        }
+        if (size == table.length) {
+            table = Arrays.copyOf(table, table.length * 2);
+        }
+        table[size] = value;
+        values = table; // Volatile write publishes the new entry
+        slots[slot] = size + 1;
+        size++;
+        if (size * 100 > slots.length * MAX_LOAD_PERCENT) {
+            rehash(table);
+        }
+        return size - 1;
+    }
+
+    /**
+     * Get the String for a code
+     * @param code Dictionary code (-1 = null)
+     * @return Interned String (null for -1)
+     */
+    public String lookup(int code) {
+        return code < 0 ? null : values[code];
+    }
+
+    /**
+     * Get number of distinct Strings stored
+     * @return Dictionary size (int)
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Double the code table and re-insert every code
+     * @param table Current code → String table
+     */
+    private void rehash(String[] table) {
+        int[] grown = new int[slots.length * 2];
+        int mask = grown.length - 1;
+        for (int code = 0; code < size; code++) {
+            int slot = spread(table[code].hashCode()) & mask;
+            while (grown[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            grown[slot] = code + 1;
+        }
+        slots = grown;
+    }
+
+    /**
+     * Mix hash bits so similar IDs ("VIS1", "VIS2", ...) do not cluster in linear probing
+     * @param hash String hash code
+     * @return Spread hash
+     */
+    private static int spread(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
\ No newline at end of file
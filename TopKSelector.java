@@ -0,0 +1,210 @@
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Top-K selection over ride history without sorting it (companion of VisitorSortEngine for "first K" queries)
+ * Keeps the K best records seen so far in a bounded max-heap (root = worst kept record), so a scan costs
+ * O(n log K) time and O(K) extra memory, and the history is only read
+ * Ties are broken by history position (earlier first), so the result is exactly the first K records of a stable
+ * sort with the same comparator, and the parallel variant returns the same list as the sequential one
+ */
+public class TopKSelector {
+    // Records per fork/join leaf in the parallel variant (smaller ranges are scanned directly)
+    private static final int PARALLEL_CHUNK = 64 * 1024;
+
+    private TopKSelector() {
+    }
+
+    /**
+     * Select the first k records in comparator order with one sequential scan
+     * @param history Records in history order (not modified)
+     * @param k Number of records wanted
+     * @param comparator Order (smallest first)
+     * @return Up to k records, best first
+     */
+    public static List<Visitor> select(Collection<Visitor> history, int k, Comparator<? super Visitor> comparator) {
+        if (k <= 0 || history.isEmpty()) {
+            return new ArrayList<>();
+        }
+        BoundedHeap heap = new BoundedHeap(Math.min(k, history.size()), comparator);
+        long position = 0;
+        for (Visitor visitor : history) {
+            heap.offer(visitor, position++);
+        }
+        return heap.drainSorted();
+    }
+
+    /**
+     * Select the first k records in comparator order, scanning chunks on a fork/join pool and merging their heaps
+     * The comparator is called from several threads at once and must not keep state
+     * @param records Snapshot of the history (not modified)
+     * @param k Number of records wanted
+     * @param comparator Order (smallest first)
+     * @param pool Pool that scans the chunks
+     * @return Up to k records, best first (same list as select)
+     */
+    public static List<Visitor> selectParallel(Visitor[] records, int k, Comparator<? super Visitor> comparator,
+                                               ForkJoinPool pool) {
+        if (k <= 0 || records.length == 0) {
+            return new ArrayList<>();
+        }
+        int capacity = Math.min(k, records.length);
+        return pool.invoke(new SelectTask(records, 0, records.length, capacity, comparator)).drainSorted();
+    }
+
+    /**
+     * Fork/join task selecting the best records of a range (splits down to PARALLEL_CHUNK records per leaf)
+     */
+    private static class SelectTask extends RecursiveTask<BoundedHeap> {
+        private static final long serialVersionUID = 1L;
+        private final Visitor[] records;
+        private final int from;
+        private final int to;
+        private final int capacity;
+        private final Comparator<? super Visitor> comparator;
+
+        SelectTask(Visitor[] records, int from, int to, int capacity, Comparator<? super Visitor> comparator) {
+            this.records = records;
+            this.from = from;
+            this.to = to;
+            this.capacity = capacity;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected BoundedHeap compute() {
+            if (to - from <= PARALLEL_CHUNK) {
+                BoundedHeap heap = new BoundedHeap(Math.min(capacity, to - from), comparator);
+                for (int i = from; i < to; i++) {
+                    heap.offer(records[i], i);
+                }
+                return heap;
+            }
+            int mid = (from + to) >>> 1;
+            SelectTask right = new SelectTask(records, mid, to, capacity, comparator);
+            right.fork();
+            BoundedHeap left = new SelectTask(records, from, mid, capacity, comparator).compute();
+            return left.merge(right.join(), capacity);
+        }
+    }
+
+    /**
+     * Max-heap of at most capacity records, ordered by comparator then position (root = worst kept record)
+     * Records and positions live in parallel arrays, so offering a record allocates nothing
+     */
+    private static final class BoundedHeap {
+        private Visitor[] records;
+        private long[] positions;
+        private int size;
+        private final Comparator<? super Visitor> comparator;
+
+        BoundedHeap(int capacity, Comparator<? super Visitor> comparator) {
+            this.records = new Visitor[capacity];
+            this.positions = new long[capacity];
+            this.comparator = comparator;
+        }
+
+        /**
+         * Keep a record if the heap has room or it beats the worst kept record
+         * @param visitor Record
+         * @param position History position (tie-break)
+         */
+        void offer(Visitor visitor, long position) {
+            if (size < records.length) {
+                records[size] = visitor;
+                positions[size] = position;
+                siftUp(size++);
+            } else if (compare(visitor, position, records[0], positions[0]) < 0) {
+                records[0] = visitor;
+                positions[0] = position;
+                siftDown(0);
+            }
+        }
+
+        /**
+         * Combine with another heap's records (result keeps the best capacity records of both)
+         * @param other Heap of another range
+         * @param capacity Final capacity (k)
+         * @return Heap holding the combined best records
+         */
+        BoundedHeap merge(BoundedHeap other, int capacity) {
+            BoundedHeap target = this;
+            BoundedHeap source = other;
+            if (other.records.length > records.length) {
+                target = other; // Offer the smaller heap into the larger one
+                source = this;
+            }
+            if (target.records.length < capacity && target.size + source.size > target.records.length) {
+                int grown = Math.min(capacity, target.size + source.size);
+                target.records = Arrays.copyOf(target.records, grown);
+                target.positions = Arrays.copyOf(target.positions, grown);
+            }
+            for (int i = 0; i < source.size; i++) {
+                target.offer(source.records[i], source.positions[i]);
+            }
+            return target;
+        }
+
+        /**
+         * Empty the heap into a list ordered best first
+         * @return Kept records, best first
+         */
+        List<Visitor> drainSorted() {
+            Visitor[] sorted = new Visitor[size];
+            for (int i = size - 1; i >= 0; i--) {
+                sorted[i] = records[0]; // Root is the worst remaining record
+                size--;
+                records[0] = records[size];
+                positions[0] = positions[size];
+                records[size] = null;
+                siftDown(0);
+            }
+            return new ArrayList<>(Arrays.asList(sorted));
+        }
+
+        private int compare(Visitor a, long positionA, Visitor b, long positionB) {
+            int result = comparator.compare(a, b);
+            return result != 0 ? result : Long.compare(positionA, positionB);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (compare(records[index], positions[index], records[parent], positions[parent]) <= 0) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int largest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && compare(records[left], positions[left], records[largest], positions[largest]) > 0) {
+                    largest = left;
+                }
+                if (right < size && compare(records[right], positions[right], records[largest], positions[largest]) > 0) {
+                    largest = right;
+                }
+                if (largest == index) {
+                    return;
+                }
+                swap(index, largest);
+                index = largest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            Visitor record = records[i];
+            records[i] = records[j];
+            records[j] = record;
+            long position = positions[i];
+            positions[i] = positions[j];
+            positions[j] = position;
+        }
+    }
+}
\ No newline at end of file
@@ -1,3 +1,5 @@
+import java.io.IOException;
+
 /**
  * Amusement park visitor class (inherits from Person, corresponds to Assessment Part1)
  * Adds visitor-specific attributes: visitor ID (for ticketing), membership type (affects queue priority)
@@ -105,4 +107,16 @@ public class Visitor extends Person {
     public String toString() {
         return "Visitor{" + super.toString() + ", visitorId='" + visitorId + "', membershipType='" + membershipType + "'}";
     }
+
+    /**
+     * Append the same text as toString to a caller-supplied target (used by Ride's paged listings)
+     * @param out Target (e.g., StringBuilder, Writer)
+     * @throws IOException If out fails
+     */
+    @Override
+    public void appendTo(Appendable out) throws IOException {
+        out.append("Visitor{");
+        super.appendTo(out);
+        out.append(", visitorId='").append(visitorId).append("', membershipType='").append(membershipType).append("'}");
+    }
 }
\ No newline at end of file
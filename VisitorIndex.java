@@ -0,0 +1,91 @@
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hash index over a ride history, keyed by visitorId (supports Ride's Part4A history lookups)
+ * Keeps a ride count per visitor so membership checks and "how many times" queries are O(1)
+ * Design purpose: Replaces the linear scan of rideHistory in checkVisitorFromHistory
+ */
+public class VisitorIndex {
+    // Ride count per visitorId (only visitors with at least one ride are present)
+    private final Map<String, Integer> rideCounts;
+
+    /**
+     * Default constructor (creates an empty index)
+     */
+    public VisitorIndex() {
+        this.rideCounts = new HashMap<>();
+    }
+
+    /**
+     * Record one ride for a visitor
+     * @param visitor Visitor added to the history (ignored if null)
+     */
+    public void add(Visitor visitor) {
+        if (visitor == null) {
+            return;
+        }
+        rideCounts.merge(visitor.getVisitorId(), 1, Integer::sum);
+    }
+
+    /**
+     * Record every visitor in a batch (used when history is filled in bulk)
+     * @param visitors Visitors added to the history
+     */
+    public void addAll(Iterable<Visitor> visitors) {
+        for (Visitor visitor : visitors) {
+            add(visitor);
+        }
+    }
+
+    /**
+     * Discard the current contents and re-index the given history
+     * A columnar history is indexed from its visitorId column, without materialising a Visitor per record
+     * @param history Full ride history
+     */
+    public void rebuild(Iterable<Visitor> history) {
+        rideCounts.clear();
+        if (history instanceof ColumnarVisitorHistory) {
+            ColumnarVisitorHistory columnar = (ColumnarVisitorHistory) history;
+            for (int i = 0, size = columnar.size(); i < size; i++) {
+                rideCounts.merge(columnar.visitorIdAt(i), 1, Integer::sum);
+            }
+            return;
+        }
+        addAll(history);
+    }
+
+    /**
+     * Check if a visitorId has at least one ride
+     * @param visitorId Ticketing system ID
+     * @return true = present, false = absent
+     */
+    public boolean contains(String visitorId) {
+        return rideCounts.containsKey(visitorId);
+    }
+
+    /**
+     * Get how many times a visitorId appears in the history
+     * @param visitorId Ticketing system ID
+     * @return Ride count (0 if never ridden)
+     */
+    public int count(String visitorId) {
+        Integer count = rideCounts.get(visitorId);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Get number of distinct visitors in the index
+     * @return Distinct visitor count (int)
+     */
+    public int distinctVisitors() {
+        return rideCounts.size();
+    }
+
+    /**
+     * Remove all entries
+     */
+    public void clear() {
+        rideCounts.clear();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+/**
+ * One page of queue or history records rendered by Ride.pageQueue / Ride.pageRideHistory
+ * Fetch the next page either by offset (getNextOffset; filters the skipped records again) or by continuation token
+ * (getContinuationToken; resumes where this page stopped without filtering skipped records again; the seek itself
+ * is O(1) for columnar/bounded history and walks the list for LinkedList history and the queue)
+ */
+public class VisitorPage {
+    // Records written to the Appendable
+    private final int rendered;
+    // Matching records before the next page (offset to pass for the next page)
+    private final long nextOffset;
+    // Opaque position of the next page (null = this is the last page)
+    private final String continuationToken;
+
+    /**
+     * Parameterized constructor
+     * @param rendered Records rendered on this page
+     * @param nextOffset Offset of the next page
+     * @param continuationToken Token of the next page (null = last page)
+     */
+    public VisitorPage(int rendered, long nextOffset, String continuationToken) {
+        this.rendered = rendered;
+        this.nextOffset = nextOffset;
+        this.continuationToken = continuationToken;
+    }
+
+    /**
+     * Get number of records rendered on this page
+     * @return rendered (int)
+     */
+    public int getRendered() {
+        return rendered;
+    }
+
+    /**
+     * Get offset to request the next page with
+     * @return nextOffset (long, counts matching records only)
+     */
+    public long getNextOffset() {
+        return nextOffset;
+    }
+
+    /**
+     * Get continuation token to request the next page with
+     * @return Token (String), or null if this is the last page
+     */
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    /**
+     * Check if no matching record follows this page
+     * @return true = last page
+     */
+    public boolean isLastPage() {
+        return continuationToken == null;
+    }
+
+    /**
+     * Override toString for a one-line summary
+     * @return Summary as String
+     */
+    @Override
+    public String toString() {
+        return "VisitorPage{rendered=" + rendered + ", nextOffset=" + nextOffset
+                + ", continuationToken=" + continuationToken + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Park-wide visitor registry (flyweight: one canonical Visitor per visitorId, shared by every Ride)
+ * A visitor who rides 20 attractions is stored once instead of 20 times; membership tiers are interned
+ * so all visitors of a tier share one String (the tier table is bounded: see internTier)
+ * A copy whose membership tier differs from the registered one (e.g., an upgrade) replaces the registered
+ * instance; records already held by rides keep the tier they had. Other attributes of later copies are ignored
+ * Visitors passed in are never modified
+ * Thread-safe: lookups are lock-free; concurrent registrations of one visitorId agree on a single instance
+ */
+public class VisitorRegistry {
+    // Registry shared by every ride that opts in without supplying its own
+    public static final VisitorRegistry SHARED = new VisitorRegistry();
+
+    // Distinct tiers interned at most (the known tiers plus a few custom ones, e.g. from AdmissionRules)
+    private static final int MAX_TIERS = 16;
+    // Canonical membership tier Strings (at most MAX_TIERS entries)
+    private static final ConcurrentHashMap<String, String> TIERS = new ConcurrentHashMap<>();
+
+    static {
+        TIERS.put("Standard", "Standard");
+        TIERS.put("VIP", "VIP");
+    }
+
+    // visitorId → canonical Visitor
+    private final ConcurrentHashMap<String, Visitor> visitors;
+
+    /**
+     * Default constructor (creates an empty registry)
+     */
+    public VisitorRegistry() {
+        this.visitors = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the canonical instance for a visitor (registers it if its visitorId is unseen or its tier changed)
+     * The argument is not modified: if its tier String is not the interned one, a copy with the interned tier
+     * is registered instead
+     * @param visitor Visitor to canonicalise (null and visitors without a visitorId are returned as-is)
+     * @return Shared Visitor for the same visitorId
+     */
+    public Visitor canonical(Visitor visitor) {
+        if (visitor == null || visitor.getVisitorId() == null) {
+            return visitor;
+        }
+        String visitorId = visitor.getVisitorId();
+        while (true) {
+            Visitor existing = visitors.get(visitorId); // Lock-free fast path for known visitors
+            if (existing != null && Objects.equals(existing.getMembershipType(), visitor.getMembershipType())) {
+                return existing;
+            }
+            Visitor candidate = withInternedTier(visitor);
+            if (existing == null ? visitors.putIfAbsent(visitorId, candidate) == null
+                    : visitors.replace(visitorId, existing, candidate)) {
+                return candidate;
+            }
+            // Another thread registered this visitorId first: check its instance again
+        }
+    }
+
+    /**
+     * Get a visitor whose tier is the interned String (the visitor itself if it already is)
+     * @param visitor Visitor to register
+     * @return visitor, or a copy with the interned tier
+     */
+    private static Visitor withInternedTier(Visitor visitor) {
+        String tier = visitor.getMembershipType();
+        String interned = internTier(tier);
+        if (interned == tier) {
+            return visitor;
+        }
+        return new Visitor(visitor.getId(), visitor.getName(), visitor.getAge(), visitor.getVisitorId(), interned);
+    }
+
+    /**
+     * Find a registered visitor
+     * @param visitorId Visitor ID
+     * @return Canonical Visitor, or null if not registered
+     */
+    public Visitor lookup(String visitorId) {
+        return visitorId == null ? null : visitors.get(visitorId);
+    }
+
+    /**
+     * Get number of registered visitors
+     * @return Registry size (int)
+     */
+    public int size() {
+        return visitors.size();
+    }
+
+    /**
+     * Remove all registered visitors (rides keep the instances they already hold)
+     */
+    public void clear() {
+        visitors.clear();
+    }
+
+    /**
+     * Get the canonical String for a membership tier
+     * "Standard" and "VIP" are always interned; other tiers only until the table holds MAX_TIERS entries,
+     * after which unknown tiers are returned as given (so the table cannot grow with arbitrary input)
+     * @param tier Membership type (e.g., "VIP"/"Standard"; null allowed)
+     * @return Shared String equal to tier (tier itself for null or once the table is full)
+     */
+    public static String internTier(String tier) {
+        if (tier == null) {
+            return null;
+        }
+        String canonical = TIERS.get(tier);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (TIERS.size() >= MAX_TIERS) {
+            return tier;
+        }
+        canonical = TIERS.putIfAbsent(tier, tier); // May overshoot MAX_TIERS by a few under contention
+        return canonical != null ? canonical : tier;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+import java.util.*;
+
+/**
+ * Primitive-key sort engine for ride history (fast path of Assessment Part4B sorting)
+ * Packs each visitor into one long key: (age - minAge) in the high bits, name collation rank in the low bits,
+ * then runs a stable LSD radix sort on the keys and writes the history back in one pass
+ * Name ranks come from sorting the distinct names with String.CASE_INSENSITIVE_ORDER (what compareToIgnoreCase uses),
+ * and names that compare equal share a rank, so the result is exactly Collections.sort(history, new VisitorComparator()),
+ * ties included (both sorts are stable)
+ */
+public class VisitorSortEngine {
+    // Below this size the comparator sort is already cheap
+    private static final int RADIX_THRESHOLD = 256;
+    // Bits per radix pass
+    private static final int DIGIT_BITS = 8;
+
+    /**
+     * Sort history in place by age (ascending), then name (case-insensitive)
+     * Falls back to the comparator sort for tiny histories, null names, or keys wider than 63 bits
+     * @param history Ride history to sort
+     */
+    public static void sort(List<Visitor> history) {
+        int n = history.size();
+        if (n < RADIX_THRESHOLD) {
+            history.sort(new VisitorComparator());
+            return;
+        }
+        Visitor[] visitors = history.toArray(new Visitor[0]);
+
+        // 1. Age range and distinct names
+        int minAge = Integer.MAX_VALUE;
+        int maxAge = Integer.MIN_VALUE;
+        Map<String, Integer> nameRanks = new HashMap<>();
+        for (Visitor visitor : visitors) {
+            if (visitor.getName() == null) {
+                history.sort(new VisitorComparator()); // Same behaviour (including failure) as before
+                return;
+            }
+            minAge = Math.min(minAge, visitor.getAge());
+            maxAge = Math.max(maxAge, visitor.getAge());
+            nameRanks.putIfAbsent(visitor.getName(), 0);
+        }
+
+        // 2. Collation rank per distinct name (case-insensitively equal names share a rank)
+        String[] names = nameRanks.keySet().toArray(new String[0]);
+        Arrays.sort(names, String.CASE_INSENSITIVE_ORDER);
+        int rank = 0;
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0 && String.CASE_INSENSITIVE_ORDER.compare(names[i - 1], names[i]) != 0) {
+                rank++;
+            }
+            nameRanks.put(names[i], rank);
+        }
+        int rankBits = bitsFor(rank);
+        int ageBits = bitsFor((long) maxAge - minAge);
+        if (rankBits + ageBits > 63) {
+            history.sort(new VisitorComparator());
+            return;
+        }
+
+        // 3. Packed keys + original positions
+        long[] keys = new long[n];
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            long ageKey = (long) visitors[i].getAge() - minAge;
+            keys[i] = (ageKey << rankBits) | nameRanks.get(visitors[i].getName());
+            order[i] = i;
+        }
+        radixSort(keys, order, rankBits + ageBits);
+
+        // 4. Rebuild history in one pass
+        ListIterator<Visitor> iterator = history.listIterator();
+        for (int i = 0; i < n; i++) {
+            iterator.next();
+            iterator.set(visitors[order[i]]);
+        }
+    }
+
+    /**
+     * Stable LSD radix sort of keys, permuting positions alongside
+     * @param keys Sort keys (non-negative)
+     * @param order Positions carried with the keys
+     * @param keyBits Significant bits in the keys
+     */
+    private static void radixSort(long[] keys, int[] order, int keyBits) {
+        int n = keys.length;
+        long[] keyBuffer = new long[n];
+        int[] orderBuffer = new int[n];
+        int[] counts = new int[1 << DIGIT_BITS];
+        int mask = (1 << DIGIT_BITS) - 1;
+        for (int shift = 0; shift < keyBits; shift += DIGIT_BITS) {
+            Arrays.fill(counts, 0);
+            for (long key : keys) {
+                counts[(int) (key >>> shift) & mask]++;
+            }
+            int total = 0;
+            for (int d = 0; d < counts.length; d++) {
+                int c = counts[d];
+                counts[d] = total;
+                total += c;
+            }
+            for (int i = 0; i < n; i++) {
+                int slot = counts[(int) (keys[i] >>> shift) & mask]++;
+                keyBuffer[slot] = keys[i];
+                orderBuffer[slot] = order[i];
+            }
+            System.arraycopy(keyBuffer, 0, keys, 0, n);
+            System.arraycopy(orderBuffer, 0, order, 0, n);
+        }
+    }
+
+    /**
+     * Get number of bits needed to hold a non-negative value
+     * @param value Largest value
+     * @return Bit count (0 for value 0)
+     */
+    private static int bitsFor(long value) {
+        return 64 - Long.numberOfLeadingZeros(value);
+    }
+}
\ No newline at end of file
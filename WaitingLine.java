@@ -0,0 +1,87 @@
+import java.util.AbstractQueue;
+import java.util.Iterator;
+
+/**
+ * Ride waiting queue that keeps each visitor's join time next to the visitor (base of Ride's queue implementations)
+ * Join times live in the queue entries, not in Visitor, so a registry-shared Visitor can wait in several rides'
+ * queues (or twice in one) without one entry overwriting another's time
+ * Plain Queue.offer records no join time; Ride always offers with the time from its clock
+ */
+public abstract class WaitingLine extends AbstractQueue<Visitor> {
+    // Join time of an entry offered without one
+    public static final long NO_JOIN_TIME = Long.MIN_VALUE;
+
+    /**
+     * Add visitor to the tail of the queue together with its join time
+     * @param visitor Visitor to add (non-null)
+     * @param joinedAt Join time in nanoseconds (NO_JOIN_TIME = unknown)
+     * @return true (the queue is unbounded)
+     */
+    public abstract boolean offer(Visitor visitor, long joinedAt);
+
+    /**
+     * Remove the next entry (same order as poll())
+     * @return Next entry, or null if the queue is empty
+     */
+    abstract Entry pollEntry();
+
+    /**
+     * Iterate entries in the same order as iterator()
+     * @return Iterator over waiting entries
+     */
+    abstract Iterator<Entry> entries();
+
+    /**
+     * Add visitor to the tail of the queue without a join time
+     * @param visitor Visitor to add (non-null)
+     * @return true (the queue is unbounded)
+     */
+    @Override
+    public boolean offer(Visitor visitor) {
+        return offer(visitor, NO_JOIN_TIME);
+    }
+
+    /**
+     * Remove the next visitor
+     * @return Next visitor, or null if the queue is empty
+     */
+    @Override
+    public Visitor poll() {
+        Entry entry = pollEntry();
+        return entry == null ? null : entry.visitor;
+    }
+
+    /**
+     * Copy every waiting entry, join times included, to another queue (iteration order)
+     * @param target Queue to fill
+     */
+    void copyTo(WaitingLine target) {
+        for (Iterator<Entry> it = entries(); it.hasNext(); ) {
+            Entry entry = it.next();
+            target.offer(entry.visitor, entry.joinedAt);
+        }
+    }
+
+    /**
+     * Restart every wait at the same time (e.g., after the ride's clock changed)
+     * @param now New join time
+     */
+    void restartJoinTimes(long now) {
+        for (Iterator<Entry> it = entries(); it.hasNext(); ) {
+            it.next().joinedAt = now;
+        }
+    }
+
+    /**
+     * One waiting visitor and the time it joined
+     */
+    static final class Entry {
+        final Visitor visitor;
+        volatile long joinedAt;
+
+        Entry(Visitor visitor, long joinedAt) {
+            this.visitor = visitor;
+            this.joinedAt = joinedAt;
+        }
+    }
+}
\ No newline at end of file
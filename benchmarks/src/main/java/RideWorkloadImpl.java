@@ -0,0 +1,174 @@
+import bench.RideWorkload;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * RideWorkload implementation in the default package (it can see Ride, the JMH benchmarks cannot)
+ * All rides use NoOpRideEventSink so console output is not part of the measurements
+ */
+public class RideWorkloadImpl implements RideWorkload {
+    // Operator for every benchmark ride
+    private static final Employee OPERATOR = new Employee("P000", "Bench Operator", 30, "E000", "Operator");
+
+    // Ride under test
+    private Ride ride = newRide();
+    // Visitors prepared for enqueueArrivals
+    private Visitor[] arrivals = new Visitor[0];
+    // Generated history records (kept to rebuild shuffled histories)
+    private List<Visitor> generated = new ArrayList<>();
+    // Pre-built lookup probes (same visitorIds as generated)
+    private Visitor[] probes = new Visitor[0];
+
+    /**
+     * Create a silent ride (8 riders per cycle)
+     * @return New ride
+     */
+    private static Ride newRide() {
+        Ride ride = new Ride(OPERATOR, "Bench Coaster", "Thrill Ride", 8);
+        ride.setEventSink(NoOpRideEventSink.INSTANCE);
+        return ride;
+    }
+
+    /**
+     * Build the n-th synthetic visitor (names repeat so sorting has ties)
+     * @param n Visitor number
+     * @return Visitor
+     */
+    private static Visitor visitor(int n) {
+        return new Visitor("P" + n, "Name" + (n % 5000), 5 + (n % 70), "VIS" + n, n % 4 == 0 ? "VIP" : "Standard");
+    }
+
+    @Override
+    public void prepareArrivals(int count) {
+        ride = newRide();
+        arrivals = new Visitor[count];
+        for (int i = 0; i < count; i++) {
+            arrivals[i] = visitor(i);
+        }
+    }
+
+    @Override
+    public void enqueueArrivals() {
+        for (Visitor visitor : arrivals) {
+            ride.addVisitorToQueue(visitor);
+        }
+    }
+
+    @Override
+    public void openQueueLog(String path, int syncEvery) {
+        new File(path).delete();
+        ride.openQueueLog(path, syncEvery);
+    }
+
+    @Override
+    public void closeQueueLog() {
+        ride.closeQueueLog();
+    }
+
+    @Override
+    public int runCyclesOneByOne() {
+        int before = ride.getNumOfCycles();
+        while (ride.numberOfVisitors() < arrivals.length) {
+            ride.runOneCycle();
+        }
+        return ride.getNumOfCycles() - before;
+    }
+
+    @Override
+    public int runCyclesBulk() {
+        return ride.runUntilEmpty().getCycles();
+    }
+
+    @Override
+    public void fillHistory(int records) {
+        generated = new ArrayList<>(records);
+        probes = new Visitor[Math.min(records, 1 << 16)];
+        for (int i = 0; i < records; i++) {
+            generated.add(visitor(i));
+        }
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = visitor((int) ((long) i * records / probes.length));
+        }
+        ride = newRide();
+        for (Visitor visitor : generated) {
+            ride.addVisitorToHistory(visitor);
+        }
+    }
+
+    @Override
+    public boolean checkVisitor(int n) {
+        return ride.checkVisitorFromHistory(probes[Math.floorMod(n, probes.length)]);
+    }
+
+    @Override
+    public void shuffleHistory(long seed) {
+        List<Visitor> shuffled = new ArrayList<>(generated);
+        Collections.shuffle(shuffled, new Random(seed));
+        ride = newRide();
+        for (Visitor visitor : shuffled) {
+            ride.addVisitorToHistory(visitor);
+        }
+    }
+
+    @Override
+    public void sortHistory() {
+        ride.sortRideHistory();
+    }
+
+    @Override
+    public int topHistory(int k) {
+        return ride.topVisitorsFromHistory(k, null).size();
+    }
+
+    @Override
+    public int topHistoryParallel(int k) {
+        return ride.topVisitorsFromHistoryParallel(k, null).size();
+    }
+
+    @Override
+    public void exportCsv(String path) {
+        ride.exportRideHistory(path);
+    }
+
+    @Override
+    public int importCsv(String path) {
+        Ride target = newRide();
+        target.importRideHistory(path);
+        return target.numberOfVisitors();
+    }
+
+    @Override
+    public int importCsvMapped(String path) {
+        Ride target = newRide();
+        target.importRideHistoryMapped(path);
+        return target.numberOfVisitors();
+    }
+
+    @Override
+    public void exportBinary(String path) {
+        ride.exportRideHistoryBinary(path);
+    }
+
+    @Override
+    public int importBinary(String path) {
+        Ride target = newRide();
+        target.importRideHistoryBinary(path);
+        return target.numberOfVisitors();
+    }
+
+    @Override
+    public void exportGzip(String path) {
+        ride.exportRideHistoryCompressed(path);
+    }
+
+    @Override
+    public int importGzip(String path) {
+        Ride target = newRide();
+        target.importRideHistoryCompressed(path);
+        return target.numberOfVisitors();
+    }
+}
\ No newline at end of file
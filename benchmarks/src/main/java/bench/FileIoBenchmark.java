@@ -0,0 +1,92 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * History export/import of N records: CSV (exportRideHistory/importRideHistory), memory-mapped CSV import,
+ * the binary format (exportRideHistoryBinary/importRideHistoryBinary) and parallel chunked gzip CSV
+ * (exportRideHistoryCompressed/importRideHistoryCompressed)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class FileIoBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private RideWorkload workload;
+    private Path directory;
+    private String csvIn;
+    private String binaryIn;
+    private String gzipIn;
+    private String csvOut;
+    private String binaryOut;
+    private String gzipOut;
+
+    @Setup(Level.Trial)
+    public void writeInputFiles() throws IOException {
+        workload = RideWorkload.create();
+        workload.fillHistory(size);
+        directory = Files.createTempDirectory("ride-bench");
+        csvIn = directory.resolve("in.csv").toString();
+        binaryIn = directory.resolve("in.rhb").toString();
+        gzipIn = directory.resolve("in.csv.gz").toString();
+        csvOut = directory.resolve("out.csv").toString();
+        binaryOut = directory.resolve("out.rhb").toString();
+        gzipOut = directory.resolve("out.csv.gz").toString();
+        workload.exportCsv(csvIn);
+        workload.exportBinary(binaryIn);
+        workload.exportGzip(gzipIn);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        for (String file : new String[]{csvIn, binaryIn, gzipIn, csvOut, binaryOut, gzipOut}) {
+            Files.deleteIfExists(Path.of(file));
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void exportCsv() {
+        workload.exportCsv(csvOut);
+    }
+
+    @Benchmark
+    public int importCsv() {
+        return workload.importCsv(csvIn);
+    }
+
+    @Benchmark
+    public int importCsvMapped() {
+        return workload.importCsvMapped(csvIn);
+    }
+
+    @Benchmark
+    public void exportBinary() {
+        workload.exportBinary(binaryOut);
+    }
+
+    @Benchmark
+    public int importBinary() {
+        return workload.importBinary(binaryIn);
+    }
+
+    @Benchmark
+    public void exportGzip() {
+        workload.exportGzip(gzipOut);
+    }
+
+    @Benchmark
+    public int importGzip() {
+        return workload.importGzip(gzipIn);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of checkVisitorFromHistory against a history of N records (probes spread across the history)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class HistoryLookupBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private RideWorkload workload;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void fillHistory() {
+        workload = RideWorkload.create();
+        workload.fillHistory(size);
+    }
+
+    @Benchmark
+    public boolean checkVisitorFromHistory() {
+        return workload.checkVisitor(next++);
+    }
+}
\ No newline at end of file
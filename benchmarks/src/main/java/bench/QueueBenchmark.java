@@ -0,0 +1,44 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waiting-queue throughput: enqueue N visitors with addVisitorToQueue, then drain them into history
+ * one cycle at a time (runOneCycle) or in bulk (runUntilEmpty); score is time per N-visitor batch
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class QueueBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private RideWorkload workload;
+
+    @Setup(Level.Trial)
+    public void createWorkload() {
+        workload = RideWorkload.create();
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareArrivals() {
+        workload.prepareArrivals(size);
+    }
+
+    @Benchmark
+    public int enqueueThenRunOneCycle() {
+        workload.enqueueArrivals();
+        return workload.runCyclesOneByOne();
+    }
+
+    @Benchmark
+    public int enqueueThenRunUntilEmpty() {
+        workload.enqueueArrivals();
+        return workload.runCyclesBulk();
+    }
+}
\ No newline at end of file
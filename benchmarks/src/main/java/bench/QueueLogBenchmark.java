@@ -0,0 +1,54 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queue write-ahead log overhead: the QueueBenchmark batch (enqueue N visitors, drain with runUntilEmpty)
+ * with every queue join and dispatch logged; compare with QueueBenchmark.enqueueThenRunUntilEmpty at the same
+ * size to get the per-operation cost, for fsync batches of 1, 64 and 4096 entries
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class QueueLogBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"1", "64", "4096"})
+    public int syncEvery;
+
+    private RideWorkload workload;
+    private String logPath;
+
+    @Setup(Level.Trial)
+    public void createWorkload() throws IOException {
+        workload = RideWorkload.create();
+        File log = File.createTempFile("bench-queue", ".wal");
+        log.deleteOnExit();
+        logPath = log.getPath();
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareArrivals() {
+        workload.prepareArrivals(size);
+        workload.openQueueLog(logPath, syncEvery);
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeLog() {
+        workload.closeQueueLog();
+    }
+
+    @Benchmark
+    public int enqueueThenRunUntilEmptyLogged() {
+        workload.enqueueArrivals();
+        return workload.runCyclesBulk();
+    }
+}
\ No newline at end of file
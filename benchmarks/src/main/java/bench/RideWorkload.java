@@ -0,0 +1,139 @@
+package bench;
+
+import java.util.ServiceLoader;
+
+/**
+ * Bridge between the benchmarks and the park classes
+ * The park classes live in the default package, which named packages cannot import, and JMH refuses
+ * benchmark classes in the default package; the default-package RideWorkloadImpl implements this
+ * interface and is found through ServiceLoader (META-INF/services/bench.RideWorkload)
+ */
+public interface RideWorkload {
+    /**
+     * Create the workload implementation
+     * @return New workload bound to a fresh ride
+     */
+    static RideWorkload create() {
+        return ServiceLoader.load(RideWorkload.class).findFirst()
+                .orElseThrow(() -> new IllegalStateException("No RideWorkload implementation on the classpath"));
+    }
+
+    /**
+     * Pre-build arrival visitors (excluded from measurement)
+     * @param count Number of visitors
+     */
+    void prepareArrivals(int count);
+
+    /**
+     * Add every prepared arrival to the waiting queue (addVisitorToQueue)
+     */
+    void enqueueArrivals();
+
+    /**
+     * Start logging queue operations on the current ride (openQueueLog)
+     * @param path Log file path (deleted first so every run starts from an empty log)
+     * @param syncEvery Entries per fsync
+     */
+    void openQueueLog(String path, int syncEvery);
+
+    /**
+     * Sync and close the queue log (closeQueueLog)
+     */
+    void closeQueueLog();
+
+    /**
+     * Call runOneCycle until the queue is empty
+     * @return Cycles run
+     */
+    int runCyclesOneByOne();
+
+    /**
+     * Call runUntilEmpty once (bulk path)
+     * @return Cycles run
+     */
+    int runCyclesBulk();
+
+    /**
+     * Replace ride history with generated records
+     * @param records Number of records
+     */
+    void fillHistory(int records);
+
+    /**
+     * Look up the n-th generated visitor with checkVisitorFromHistory
+     * @param n Visitor number (taken modulo the history size)
+     * @return Lookup result
+     */
+    boolean checkVisitor(int n);
+
+    /**
+     * Shuffle history into a fresh unsorted order (excluded from measurement)
+     * @param seed Random seed
+     */
+    void shuffleHistory(long seed);
+
+    /**
+     * Call sortRideHistory
+     */
+    void sortHistory();
+
+    /**
+     * Call topVisitorsFromHistory with VisitorComparator
+     * @param k Records wanted
+     * @return Records returned
+     */
+    int topHistory(int k);
+
+    /**
+     * Call topVisitorsFromHistoryParallel with VisitorComparator
+     * @param k Records wanted
+     * @return Records returned
+     */
+    int topHistoryParallel(int k);
+
+    /**
+     * Call exportRideHistory (CSV)
+     * @param path File path
+     */
+    void exportCsv(String path);
+
+    /**
+     * Call importRideHistory on a fresh ride (CSV)
+     * @param path File path
+     * @return Records imported
+     */
+    int importCsv(String path);
+
+    /**
+     * Call importRideHistoryMapped on a fresh ride (memory-mapped CSV)
+     * @param path File path
+     * @return Records imported
+     */
+    int importCsvMapped(String path);
+
+    /**
+     * Call exportRideHistoryBinary
+     * @param path File path
+     */
+    void exportBinary(String path);
+
+    /**
+     * Call importRideHistoryBinary on a fresh ride
+     * @param path File path
+     * @return Records imported
+     */
+    int importBinary(String path);
+
+    /**
+     * Call exportRideHistoryCompressed (parallel chunked gzip CSV)
+     * @param path File path
+     */
+    void exportGzip(String path);
+
+    /**
+     * Call importRideHistoryCompressed on a fresh ride
+     * @param path File path
+     * @return Records imported
+     */
+    int importGzip(String path);
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * sortRideHistory on a freshly shuffled history of N records (shuffling is excluded from the score),
+ * and the first 50 records by the same order via the top-K queries (sequential and parallel), which leave history as is
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class SortBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private RideWorkload workload;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void fillHistory() {
+        workload = RideWorkload.create();
+        workload.fillHistory(size);
+    }
+
+    @Setup(Level.Invocation)
+    public void shuffle() {
+        workload.shuffleHistory(seed++);
+    }
+
+    @Benchmark
+    public void sortRideHistory() {
+        workload.sortHistory();
+    }
+
+    @Benchmark
+    public int topVisitorsFromHistory() {
+        return workload.topHistory(50);
+    }
+
+    @Benchmark
+    public int topVisitorsFromHistoryParallel() {
+        return workload.topHistoryParallel(50);
+    }
+}
\ No newline at end of file